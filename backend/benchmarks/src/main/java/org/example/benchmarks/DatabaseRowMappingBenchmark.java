@@ -0,0 +1,143 @@
+// Package declaration
+package org.example.benchmarks;
+
+// Required imports
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.example.daos.EntryDao;
+import org.example.daos.PublicEntryFeed;
+import org.example.models.Entry;
+import org.example.services.ListVersions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * The same queries as RowMappingBenchmark against an embedded MariaDB holding the same rows, so the
+ * mapper's share of a real query (driver decoding, network, the query itself) can be told apart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DatabaseRowMappingBenchmark {
+
+    // Rows inserted per batch while loading
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    private DB db;
+
+    private HikariDataSource dataSource;
+
+    private EntryDao entryDao;
+
+    private PublicEntryFeed publicFeed;
+
+    @Setup
+    public void setUp() throws ManagedProcessException, SQLException, IOException {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+        db.createDB("healthTracker", "root", "");
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/healthTracker");
+        dataSource.setUsername("root");
+
+        // The application's schema
+        try (Connection connection = dataSource.getConnection();
+             Reader script = new InputStreamReader(getClass().getResourceAsStream("/create-database.sql"), StandardCharsets.UTF_8)) {
+            ScriptRunner runner = new ScriptRunner(connection);
+            runner.setStopOnError(true);
+            runner.setLogWriter(null);
+            runner.runScript(script);
+        }
+
+        load(new JdbcTemplate(dataSource));
+
+        publicFeed = new PublicEntryFeed();
+        entryDao = new EntryDao(dataSource, new ListVersions(), publicFeed);
+    }
+
+    /**
+     * Inserts the users, groups and entries of EntryRows.
+     */
+    private void load(JdbcTemplate jdbc) {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < EntryRows.USERS; i++) {
+            users.add(new Object[] {EntryRows.user(i), "password"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, password) VALUES (?, ?)", users);
+
+        List<Object[]> groups = new ArrayList<>();
+        for (int i = 0; i < EntryRows.groups(rows); i++) {
+            groups.add(EntryRows.group(i));
+        }
+        jdbc.batchUpdate("INSERT INTO entry_groups (id, name, description, visibility, created_by) VALUES (?, ?, ?, ?, ?)", groups);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(EntryRows.entry(i));
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbc.batchUpdate("INSERT INTO entries (title, type, description, visibility, date, created_by, group_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws ManagedProcessException {
+        dataSource.close();
+        db.stop();
+    }
+
+    @Benchmark
+    public List<Entry> getAll() {
+        return entryDao.getAll();
+    }
+
+    @Benchmark
+    public List<Entry> getAllByUser() {
+        // Load the public feed on every call, as after a write
+        publicFeed.invalidate();
+        return entryDao.getAllByUser(EntryRows.user(0));
+    }
+
+    @Benchmark
+    public List<Entry> searchByType() {
+        // Matches Workout, Symptom and Other: three rows in four
+        return entryDao.search("type", "o", EntryRows.user(0), true);
+    }
+}
@@ -0,0 +1,95 @@
+// Package declaration
+package org.example.benchmarks;
+
+// Required imports
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic entry rows shared by the benchmarks: the same data is served by the in-memory ResultSet
+ * and inserted into the embedded database, so the two sets of results can be compared.
+ */
+final class EntryRows {
+
+    // Columns of EntryDao's joined entry/group query, in order
+    static final String[] JOINED_COLUMNS = {
+        "entry_id", "title", "type", "description", "visibility", "date", "created_by", "version",
+        "group_id", "group_name", "group_description", "group_visibility", "group_created_by"
+    };
+
+    // Entries per group: many entries in one result share each group
+    static final int ENTRIES_PER_GROUP = 100;
+
+    // Distinct owners of entries and groups
+    static final int USERS = 100;
+
+    private static final String[] TYPES = {"Workout", "Diet", "Symptom", "Other"};
+
+    private static final String[] VISIBILITIES = {"PUBLIC", "PRIVATE"};
+
+    // Entries are spread over three years of dates
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final int DAYS = 3 * 365;
+
+    private EntryRows() {
+    }
+
+    /**
+     * Returns the number of groups holding the given number of entries.
+     */
+    static int groups(int entries) {
+        return (entries + ENTRIES_PER_GROUP - 1) / ENTRIES_PER_GROUP;
+    }
+
+    /**
+     * Returns the owner of the entry or group with the given (0-based) index.
+     */
+    static String user(int index) {
+        return "user" + (index % USERS);
+    }
+
+    /**
+     * Returns the group columns (id, name, description, visibility, created_by) of the given (0-based) group.
+     */
+    static Object[] group(int index) {
+        return new Object[] {
+            index + 1, "Group " + index, "Entries collected in group number " + index,
+            VISIBILITIES[index % VISIBILITIES.length], user(index)
+        };
+    }
+
+    /**
+     * Returns the entry columns (title, type, description, visibility, date, created_by, group_id)
+     * of the given (0-based) entry.
+     */
+    static Object[] entry(int index) {
+        return new Object[] {
+            "Entry " + index, TYPES[index % TYPES.length], "Notes written down for entry " + index + " of the day",
+            VISIBILITIES[(index / 3) % VISIBILITIES.length], Date.valueOf(FIRST_DAY.plusDays(index % DAYS)),
+            user(index), index / ENTRIES_PER_GROUP + 1
+        };
+    }
+
+    /**
+     * Returns the given number of rows of the joined query (JOINED_COLUMNS), in entry id order, with the
+     * values typed as the MariaDB driver returns them.
+     */
+    static List<Object[]> joined(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        Object[][] groups = new Object[groups(count)][];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = group(i);
+        }
+        for (int i = 0; i < count; i++) {
+            Object[] entry = entry(i);
+            Object[] group = groups[i / ENTRIES_PER_GROUP];
+            rows.add(new Object[] {
+                i + 1, entry[0], entry[1], entry[2], entry[3], entry[4], entry[5], 0,
+                group[0], group[1], group[2], group[3], group[4]
+            });
+        }
+        return rows;
+    }
+}
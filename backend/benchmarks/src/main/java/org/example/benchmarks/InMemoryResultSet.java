@@ -0,0 +1,155 @@
+// Package declaration
+package org.example.benchmarks;
+
+// Required imports
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forward-only ResultSet over rows held in memory, with the column values typed as the MariaDB driver
+ * returns them (String, Long/Integer, java.sql.Date). Like a driver decoding each value it reads,
+ * getString and getDate return a new object per call, so a mapper that reads fewer columns allocates
+ * less here too. Closing it rewinds it instead, so one instance can be handed to the DAO by every
+ * benchmark invocation without copying the rows.
+ */
+class InMemoryResultSet extends ResultSetStub {
+
+    // Column labels, in column order
+    private final String[] labels;
+
+    // Column index (1-based) by label
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    // The rows, one value per column
+    private final List<Object[]> rows;
+
+    // Index of the current row; -1 before the first
+    private int cursor = -1;
+
+    // Whether the last value read was SQL NULL
+    private boolean wasNull;
+
+    /**
+     * Creates a result set.
+     *
+     * @param labels Column labels, in column order.
+     * @param rows   Rows, each with one value per column.
+     */
+    InMemoryResultSet(String[] labels, List<Object[]> rows) {
+        this.labels = labels;
+        this.rows = rows;
+        for (int i = 0; i < labels.length; i++) {
+            columns.putIfAbsent(labels[i], i + 1);
+        }
+    }
+
+    /**
+     * Returns the number of rows.
+     */
+    int size() {
+        return rows.size();
+    }
+
+    @Override
+    public boolean next() {
+        if (cursor < rows.size()) {
+            cursor++;
+        }
+        return cursor < rows.size();
+    }
+
+    @Override
+    public void close() {
+        cursor = -1;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        Integer index = columns.get(columnLabel);
+        if (index != null) {
+            return index;
+        }
+        // Labels are case-insensitive, as in the driver
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("No such column: " + columnLabel);
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("Not on a row");
+        }
+        if (columnIndex < 1 || columnIndex > labels.length) {
+            throw new SQLException("No such column: " + columnIndex);
+        }
+        Object value = rows.get(cursor)[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        return value == null ? null : new String(value.toString());
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        Date value = (Date) getObject(columnIndex);
+        return value == null ? null : new Date(value.getTime());
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+}
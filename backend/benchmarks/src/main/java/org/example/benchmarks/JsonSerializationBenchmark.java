@@ -0,0 +1,76 @@
+// Package declaration
+package org.example.benchmarks;
+
+// Required imports
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.daos.EntryDao;
+import org.example.daos.PublicEntryFeed;
+import org.example.models.Entry;
+import org.example.models.EntryGroup;
+import org.example.models.NormalizedEntries;
+import org.example.services.ListVersions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of writing entry and group lists as JSON, with an ObjectMapper configured as Spring MVC's.
+ * The lists come from EntryDao's row mapping (as in RowMappingBenchmark); output is discarded,
+ * so only serialization is measured. normalizedEntries writes the same entries as ?shape=normalized
+ * does, including building the normalized form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Entry> entries;
+
+    private List<EntryGroup> groups;
+
+    @Setup
+    public void setUp() {
+        InMemoryResultSet all = new InMemoryResultSet(EntryRows.JOINED_COLUMNS, EntryRows.joined(rows));
+        EntryDao entryDao = new EntryDao(new MockDataSource(sql -> all), new ListVersions(), new PublicEntryFeed());
+        entries = entryDao.getAll();
+        groups = entries.stream().map(Entry::getGroup).toList();
+    }
+
+    @Benchmark
+    public void entries() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), entries);
+    }
+
+    @Benchmark
+    public void groups() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), groups);
+    }
+
+    @Benchmark
+    public void normalizedEntries() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), NormalizedEntries.of(entries));
+    }
+}
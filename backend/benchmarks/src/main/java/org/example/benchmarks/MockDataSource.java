@@ -0,0 +1,112 @@
+// Package declaration
+package org.example.benchmarks;
+
+// Required imports
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource without a database: every query returns the ResultSet chosen for its SQL, and every other
+ * JDBC call does nothing. Lets a DAO run its real queries and row mappers with no driver or network cost.
+ */
+class MockDataSource implements DataSource {
+
+    // Result of each query, by SQL text
+    private final Function<String, ResultSet> results;
+
+    /**
+     * Creates a DataSource.
+     *
+     * @param results Returns the result of a query given its SQL text. Results are closed after each use,
+     *                so they must be reusable (as InMemoryResultSet is).
+     */
+    MockDataSource(Function<String, ResultSet> results) {
+        this.results = results;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement", "prepareCall" -> statement(PreparedStatement.class, (String) args[0]);
+                    case "createStatement" -> statement(Statement.class, null);
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    /**
+     * Returns a statement answering queries with their result; sql is null for plain statements,
+     * which get theirs with executeQuery.
+     */
+    private Object statement(Class<? extends Statement> type, String sql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "executeQuery" -> results.apply(sql != null ? sql : (String) args[0]);
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    /**
+     * Returns what a call that does nothing returns.
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw new SQLException("Not a wrapper");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return false;
+    }
+}
@@ -0,0 +1,113 @@
+// Package declaration
+package org.example.benchmarks;
+
+// Required imports
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.daos.EntryDao;
+import org.example.daos.PublicEntryFeed;
+import org.example.models.Entry;
+import org.example.models.Entry.EntryType;
+import org.example.models.EntryGroup;
+import org.example.models.EntryGroup.Visibility;
+import org.example.services.ListVersions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Per-row cost of EntryDao's joined row mapping, measured through getAll, getAllByUser and search
+ * against an in-memory ResultSet: the time left is the mapper's (column lookups, enum parsing,
+ * object allocation), not the driver's. Add -prof gc to see the bytes allocated per call.
+ * getAllByLabel maps the same rows the way EntryDao did before its shared EntryRowMapper, as a baseline.
+ * The ResultSet is shared, so run single-threaded (the default).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RowMappingBenchmark {
+
+    // The second query of getAllByUser: the user's own non-public entries
+    private static final String OWN_PRIVATE = "e.created_by = ? AND e.visibility <> 'PUBLIC'";
+
+    // EntryDao's former joined row mapper: columns looked up by name, Enum.valueOf, and a new group per row
+    private static final RowMapper<Entry> BY_LABEL = (rs, rowNum) -> {
+        Entry entry = new Entry();
+        entry.setId(rs.getLong("entry_id"));
+        entry.setTitle(rs.getString("title"));
+        entry.setType(EntryType.valueOf(rs.getString("type")));
+        entry.setDescription(rs.getString("description"));
+        entry.setVisibility(Visibility.valueOf(rs.getString("visibility")));
+        entry.setDate(rs.getDate("date"));
+        entry.setCreatedBy(rs.getString("created_by"));
+        entry.setVersion(rs.getInt("version"));
+
+        EntryGroup group = new EntryGroup();
+        group.setId(rs.getLong("group_id"));
+        group.setName(rs.getString("group_name"));
+        group.setDescription(rs.getString("group_description"));
+        group.setVisibility(Visibility.valueOf(rs.getString("group_visibility")));
+        group.setCreatedBy(rs.getString("group_created_by"));
+
+        entry.setGroup(group);
+        return entry;
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    private EntryDao entryDao;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private PublicEntryFeed publicFeed;
+
+    @Setup
+    public void setUp() {
+        InMemoryResultSet all = new InMemoryResultSet(EntryRows.JOINED_COLUMNS, EntryRows.joined(rows));
+        InMemoryResultSet none = new InMemoryResultSet(EntryRows.JOINED_COLUMNS, List.of());
+
+        // Every query returns all rows, except that getAllByUser finds them all in the public feed
+        MockDataSource dataSource = new MockDataSource(sql -> sql.contains(OWN_PRIVATE) ? none : all);
+        publicFeed = new PublicEntryFeed();
+        entryDao = new EntryDao(dataSource, new ListVersions(), publicFeed);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Benchmark
+    public List<Entry> getAll() {
+        return entryDao.getAll();
+    }
+
+    @Benchmark
+    public List<Entry> getAllByLabel() {
+        return jdbcTemplate.query("SELECT ...", BY_LABEL);
+    }
+
+    @Benchmark
+    public List<Entry> getAllByUser() {
+        // Load the public feed on every call, as after a write
+        publicFeed.invalidate();
+        return entryDao.getAllByUser(EntryRows.user(0));
+    }
+
+    @Benchmark
+    public List<Entry> searchByType() {
+        // Type searches always run SQL (the other fields may be answered from the search index)
+        return entryDao.search("type", "o", EntryRows.user(0), true);
+    }
+}
@@ -0,0 +1,85 @@
+// Package declaration
+package org.example.benchmarks;
+
+// Required imports
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.example.daos.EntryDao;
+import org.example.daos.PublicEntryFeed;
+import org.example.models.Entry;
+import org.example.services.DaoMetrics;
+import org.example.services.ListVersions;
+import org.example.services.SlowQueryDataSource;
+import org.example.services.SlowQueryLog;
+import org.example.services.SqlMetricsDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of the DataSource wrappers that look at every statement, measured through EntryDao.getAll
+ * against an in-memory ResultSet: "plain" is the bare DataSource, "metrics" adds SqlMetricsDataSource
+ * (on by default) and "metrics+slow" also SlowQueryDataSource (with a threshold no statement reaches).
+ * With rows=1 the difference is the per-statement cost, with more rows mostly the per-row cost of
+ * reading through the wrappers. Add -prof gc to see the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SqlMetricsBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    int rows;
+
+    @Param({"plain", "metrics", "metrics+slow"})
+    String wrappers;
+
+    private EntryDao entryDao;
+
+    private SlowQueryLog slowQueries;
+
+    @Setup
+    public void setUp() {
+        InMemoryResultSet all = new InMemoryResultSet(EntryRows.JOINED_COLUMNS, EntryRows.joined(rows));
+        DataSource dataSource = new MockDataSource(sql -> all);
+        if (!wrappers.equals("plain")) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            dataSource = new SqlMetricsDataSource(dataSource, new DaoMetrics(() -> registry, 200));
+        }
+        if (wrappers.equals("metrics+slow")) {
+            slowQueries = new SlowQueryLog(Duration.ofHours(1), 100);
+            dataSource = new SlowQueryDataSource(dataSource, slowQueries);
+        }
+        entryDao = new EntryDao(dataSource, new ListVersions(), new PublicEntryFeed());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (slowQueries != null) {
+            slowQueries.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<Entry> getAll() {
+        return entryDao.getAll();
+    }
+}
@@ -0,0 +1,73 @@
+// k6 load test: many dashboard clients, each logging in once and then refreshing the dashboard
+// (the two list requests DashboardPage makes after every change) in a loop.
+//
+// Compare request handling on platform threads against the "virtual" profile:
+//
+//   java -jar target/spring-boot-0.0.1-SNAPSHOT-exec.jar                                   # platform threads
+//   java -jar target/spring-boot-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=virtual  # virtual threads (Java 21)
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERS=5000 loadtest/dashboard.js
+//
+// The setup step signs up the users (loadtest-user-0 … loadtest-user-N, password "loadtest").
+// Compare http_req_duration percentiles, http_reqs/s and http_req_failed between the two runs.
+
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '5000', 10);
+const PASSWORD = 'loadtest';
+
+export const options = {
+  setupTimeout: '10m',
+  scenarios: {
+    dashboard: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '1m', target: USERS },
+        { duration: '3m', target: USERS },
+        { duration: '30s', target: 0 },
+      ],
+      gracefulRampDown: '30s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+function login(username, password) {
+  const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ username, password }),
+    { headers: { 'Content-Type': 'application/json' }, tags: { name: 'login' } });
+  return res.status === 200 ? res.json('accessToken.token') : null;
+}
+
+export function setup() {
+  const headers = { 'Content-Type': 'application/json' };
+  for (let i = 0; i < USERS; i++) {
+    // Fails harmlessly for users left over from an earlier run
+    http.post(`${BASE_URL}/api/users`, JSON.stringify({ username: `loadtest-user-${i}`, password: PASSWORD }),
+      { headers, tags: { name: 'setup' } });
+  }
+}
+
+// Each virtual user runs in its own JS runtime, so this is per client
+let token = null;
+
+export default function () {
+  // Log in once per client; the token is kept for the rest of the iterations
+  if (!token) {
+    token = login(`loadtest-user-${(__VU - 1) % USERS}`, PASSWORD);
+  }
+  const params = { headers: { Authorization: `Bearer ${token}` } };
+
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/entries`, null, { ...params, tags: { name: 'entries' } }],
+    ['GET', `${BASE_URL}/api/groups`, null, { ...params, tags: { name: 'groups' } }],
+  ]);
+  check(responses[0], { 'entries 200': (r) => r.status === 200 });
+  check(responses[1], { 'groups 200': (r) => r.status === 200 });
+
+  // Think time between dashboard refreshes
+  sleep(1 + Math.random());
+}
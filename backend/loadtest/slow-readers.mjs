@@ -0,0 +1,117 @@
+// Node load test: many slow clients reading the same entry list, each at a few KB/s
+// (a phone on a bad network), while the server's thread count and resident memory are sampled.
+//
+// Compare the blocking JDBC stream with the reactive (R2DBC) one:
+//
+//   java -jar target/spring-boot-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=reactive          # Java 17
+//   java -jar target/spring-boot-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=reactive,virtual  # Java 21
+//   SERVER_PID=$(pgrep -f spring-boot-0.0.1) PATH_UNDER_TEST=/api/entries/export node loadtest/slow-readers.mjs
+//   SERVER_PID=$(pgrep -f spring-boot-0.0.1) PATH_UNDER_TEST=/api/reactive/entries node loadtest/slow-readers.mjs
+//
+// The user (loadtest-reader, password "loadtest") is signed up on first use; give it a few thousand entries
+// so each response is much larger than the socket buffers. Threads and RSS are read from /proc (Linux only).
+// Compare the peak threads and RSS, and the time until every reader finished, between the two runs.
+//
+// Over loopback the kernel buffers a few MB per socket, enough to hold a whole response, so no write ever
+// waits on a reader. Shrink them for the run (sysctl -w net.ipv4.tcp_rmem="4096 16384 32768"
+// net.ipv4.tcp_wmem="4096 16384 32768") and take thread dumps (jcmd <pid> Thread.print) while it runs:
+// a thread parked in NioSocketWrapper.doWrite/flushBlocking is waiting on a slow reader.
+
+import http from 'node:http';
+import { readFileSync } from 'node:fs';
+
+const BASE_URL = new URL(process.env.BASE_URL || 'http://localhost:8080');
+const PATH_UNDER_TEST = process.env.PATH_UNDER_TEST || '/api/reactive/entries';
+const READERS = parseInt(process.env.READERS || '2000', 10);
+const BYTES_PER_SECOND = parseInt(process.env.BYTES_PER_SECOND || '4096', 10);
+const SERVER_PID = process.env.SERVER_PID;
+const USERNAME = 'loadtest-reader';
+const PASSWORD = 'loadtest';
+
+// One keep-alive-free agent with no socket limit, so every reader has its own connection
+const agent = new http.Agent({ keepAlive: false, maxSockets: Infinity });
+
+function request(method, path, headers, body) {
+  return new Promise((resolve, reject) => {
+    const req = http.request(new URL(path, BASE_URL), { method, headers, agent }, (res) => {
+      const chunks = [];
+      res.on('data', (chunk) => chunks.push(chunk));
+      res.on('end', () => resolve({ status: res.statusCode, body: Buffer.concat(chunks).toString() }));
+    });
+    req.on('error', reject);
+    req.end(body);
+  });
+}
+
+async function token() {
+  const headers = { 'Content-Type': 'application/json' };
+  const credentials = JSON.stringify({ username: USERNAME, password: PASSWORD });
+  // Fails harmlessly if the user is left over from an earlier run
+  await request('POST', '/api/users', headers, credentials);
+  const res = await request('POST', '/auth/login', headers, credentials);
+  if (res.status !== 200) {
+    throw new Error(`Login failed: ${res.status}`);
+  }
+  return JSON.parse(res.body).accessToken.token;
+}
+
+// Reads the whole response, pausing the socket so that no more than BYTES_PER_SECOND arrive per second
+function slowRead(accessToken) {
+  return new Promise((resolve) => {
+    const headers = { Authorization: `Bearer ${accessToken}`, Accept: 'application/x-ndjson' };
+    const req = http.get(new URL(PATH_UNDER_TEST, BASE_URL), { headers, agent }, (res) => {
+      let budget = BYTES_PER_SECOND;
+      let bytes = 0;
+      const refill = setInterval(() => {
+        budget = BYTES_PER_SECOND;
+        res.resume();
+      }, 1000);
+      res.on('data', (chunk) => {
+        bytes += chunk.length;
+        budget -= chunk.length;
+        if (budget <= 0) {
+          res.pause();
+        }
+      });
+      res.on('end', () => {
+        clearInterval(refill);
+        resolve({ ok: res.statusCode === 200, bytes });
+      });
+      res.on('error', () => {
+        clearInterval(refill);
+        resolve({ ok: false, bytes });
+      });
+    });
+    req.on('error', () => resolve({ ok: false, bytes: 0 }));
+  });
+}
+
+// Threads and resident memory of the server process, from /proc/<pid>/status
+function sample() {
+  if (!SERVER_PID) {
+    return null;
+  }
+  const status = readFileSync(`/proc/${SERVER_PID}/status`, 'utf8');
+  const field = (name) => parseInt(status.match(new RegExp(`^${name}:\\s+(\\d+)`, 'm'))[1], 10);
+  return { threads: field('Threads'), rssMb: Math.round(field('VmRSS') / 1024) };
+}
+
+const accessToken = await token();
+const started = Date.now();
+let peak = { threads: 0, rssMb: 0 };
+
+const sampler = setInterval(() => {
+  const now = sample();
+  if (now) {
+    peak = { threads: Math.max(peak.threads, now.threads), rssMb: Math.max(peak.rssMb, now.rssMb) };
+    console.log(`t=${Math.round((Date.now() - started) / 1000)}s threads=${now.threads} rss=${now.rssMb}MB`);
+  }
+}, 1000);
+
+const results = await Promise.all(Array.from({ length: READERS }, () => slowRead(accessToken)));
+clearInterval(sampler);
+
+const failed = results.filter((r) => !r.ok).length;
+const bytes = results.reduce((sum, r) => sum + r.bytes, 0);
+console.log(`${PATH_UNDER_TEST}: ${READERS} readers, ${failed} failed, ${bytes} bytes in ${(Date.now() - started) / 1000}s`);
+console.log(`peak threads=${peak.threads} peak rss=${peak.rssMb}MB`);
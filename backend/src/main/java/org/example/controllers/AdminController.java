@@ -0,0 +1,118 @@
+// Package declaration
+package org.example.controllers;
+
+// Importing required classes
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.daos.EntryDao;                            // DAO keeping the entry statistics rollup
+import org.example.daos.EntryGroupDao;                       // DAO caching group lists
+import org.example.models.CacheStats;                        // Counters of one in-memory cache
+import org.example.models.HashingStats;                      // Load and timings of the hashing pool
+import org.example.models.SlowQuery;                         // One statement over the slow-query threshold
+import org.example.services.CalibratedBCryptPasswordEncoder; // BCrypt with a cost fitted to this machine
+import org.example.services.OffloadedPasswordEncoder;        // Hashing wrapper around the real encoder
+import org.example.services.PasswordHashingService;          // Pool that runs password hashing
+import org.example.services.PrincipalCache;                  // Cache of authentication principals
+import org.example.services.SlowQueryLog;                    // Latest statements over the slow-query threshold
+import org.springframework.beans.factory.annotation.Autowired; // For dependency injection
+import org.springframework.security.access.prepost.PreAuthorize; // Role-based access control
+import org.springframework.security.crypto.password.PasswordEncoder; // Encoder used for user passwords
+import org.springframework.web.bind.annotation.GetMapping;   // Maps HTTP GET requests
+import org.springframework.web.bind.annotation.PostMapping;  // Maps HTTP POST requests
+import org.springframework.web.bind.annotation.RequestMapping; // Maps base URL
+import org.springframework.web.bind.annotation.RestController; // Indicates RESTful controller
+
+/**
+ * REST Controller exposing operational information about the running backend.
+ * Restricted to users with ADMIN authority.
+ */
+@RestController
+@RequestMapping("/api/admin")                              // Base path for admin endpoints
+@PreAuthorize("hasAuthority('ADMIN')")                    // Restrict access to admin users
+public class AdminController {
+
+    /**
+     * Injected cache of authentication principals.
+     */
+    @Autowired
+    private PrincipalCache principalCache;
+
+    /**
+     * Injected entry DAO, which keeps the entry statistics rollup.
+     */
+    @Autowired
+    private EntryDao entryDao;
+
+    /**
+     * Injected group DAO, which caches group lists.
+     */
+    @Autowired
+    private EntryGroupDao entryGroupDao;
+
+    /**
+     * Injected pool that runs password hashing.
+     */
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    /**
+     * Injected password encoder, to report the calibrated BCrypt cost.
+     */
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Injected log of slow statements (absent when slow-query.threshold is not set).
+     */
+    @Autowired(required = false)
+    private SlowQueryLog slowQueryLog;
+
+    /**
+     * GET endpoint to fetch the counters of the in-memory caches.
+     *
+     * @return Cache statistics keyed by cache name.
+     */
+    @GetMapping("/caches")
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("principals", principalCache.stats());
+        stats.put("groupLists", entryGroupDao.cacheStats());
+        return stats;
+    }
+
+    /**
+     * GET endpoint to fetch the load and timings of the password-hashing pool.
+     *
+     * @return Pool size, queue depth, rejections, hash durations and the BCrypt cost in use.
+     */
+    @GetMapping("/password-hashing")
+    public HashingStats getPasswordHashingStats() {
+        HashingStats stats = passwordHashingService.stats();
+        PasswordEncoder encoder = passwordEncoder instanceof OffloadedPasswordEncoder offloaded ? offloaded.getDelegate() : passwordEncoder;
+        if (encoder instanceof CalibratedBCryptPasswordEncoder bcrypt) {
+            stats.setBcryptCost(bcrypt.getCost());
+        }
+        return stats;
+    }
+
+    /**
+     * GET endpoint to fetch the latest DAO statements that exceeded the slow-query threshold.
+     *
+     * @return Slow statements, newest first, with their parameter types and plans (empty when the log is off).
+     */
+    @GetMapping("/slow-queries")
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueryLog == null ? List.of() : slowQueryLog.samples();
+    }
+
+    /**
+     * POST endpoint to recompute the activity statistics (GET /api/entries/stats) from the entries,
+     * after entries were written outside the application, e.g. by a bulk SQL import.
+     */
+    @PostMapping("/entry-stats/rebuild")
+    public void rebuildEntryStats() {
+        entryDao.rebuildStats();
+    }
+}
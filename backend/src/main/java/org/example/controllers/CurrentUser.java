@@ -0,0 +1,29 @@
+// Package declaration
+package org.example.controllers;
+
+// Importing required classes
+import org.springframework.security.core.Authentication; // Holds authentication info
+
+/**
+ * Helpers for reading the authenticated user in controllers.
+ * The authorities come straight from the token's claims, so none of these touch the database.
+ */
+final class CurrentUser {
+
+    // Authority granted to administrators
+    static final String ADMIN = "ADMIN";
+
+    private CurrentUser() {
+    }
+
+    /**
+     * Whether the authenticated user has the ADMIN role.
+     *
+     * @param authentication The current authentication.
+     * @return true for admins.
+     */
+    static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals(ADMIN));
+    }
+}
@@ -2,25 +2,55 @@
 package org.example.controllers;
 
 // Importing required classes
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 import org.example.daos.EntryDao;               // DAO for database access related to Entry
+import org.example.daos.EntryGroupDao;          // DAO for looking up target groups
+import org.example.models.BulkResult;           // Per-id outcome of a bulk operation
+import org.example.models.CursorPage;           // One page of a keyset-paginated list
 import org.example.models.Entry;                // Entry model class
+import org.example.models.Entry.EntryType;      // Entry type filter
+import org.example.models.EntryGroup;           // EntryGroup model class
+import org.example.models.MoveEntriesRequest;   // Body of the bulk move endpoint
+import org.example.models.NormalizedEntries;    // Entry list with each group sent once
+import org.example.models.StatsBucket;          // Entry counts for one period
+import org.example.services.ListVersions;      // Change counters behind the list ETag
 import org.springframework.beans.factory.annotation.Autowired; // For dependency injection
+import org.springframework.dao.OptimisticLockingFailureException; // Update of a stale version
+import org.springframework.format.annotation.DateTimeFormat; // Parses ISO date parameters
+import org.springframework.http.CacheControl;   // Cache-Control header values
+import org.springframework.http.HttpHeaders;    // Standard HTTP header names
 import org.springframework.http.HttpStatus;     // For HTTP status codes
+import org.springframework.http.ResponseEntity; // Response with custom headers
 import org.springframework.security.access.prepost.PreAuthorize; // For securing endpoints
 import org.springframework.security.core.Authentication; // Holds authentication info
 import org.springframework.security.core.context.SecurityContextHolder; // Access security context
 import org.springframework.web.bind.annotation.DeleteMapping; // Maps HTTP DELETE requests
 import org.springframework.web.bind.annotation.GetMapping;     // Maps HTTP GET requests
+import org.springframework.web.bind.annotation.PatchMapping;   // Maps HTTP PATCH requests
 import org.springframework.web.bind.annotation.PathVariable;   // Binds URL template variable
 import org.springframework.web.bind.annotation.PostMapping;    // Maps HTTP POST requests
 import org.springframework.web.bind.annotation.PutMapping;     // Maps HTTP PUT requests
 import org.springframework.web.bind.annotation.RequestBody;    // Binds method parameter to request body
+import org.springframework.web.bind.annotation.RequestHeader;  // Binds request header
 import org.springframework.web.bind.annotation.RequestMapping; // Maps base URL
 import org.springframework.web.bind.annotation.RequestParam;   // Binds request parameter
 import org.springframework.web.bind.annotation.RestController; // Indicates RESTful controller
+import org.springframework.web.context.request.WebRequest;     // Conditional request (If-None-Match) handling
 import org.springframework.web.server.ResponseStatusException; // To throw exceptions with status codes
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Writes the body after the handler returns
+
+import com.fasterxml.jackson.databind.ObjectMapper;  // Spring's configured JSON mapper
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.core.JsonGenerator;
 
 // Declare this class as a REST controller with base URL /api/entries
 @RestController
@@ -33,43 +63,196 @@ public class EntryController {
     @Autowired
     private EntryDao entryDao;
 
-    // Endpoint to get all entries, admins get all, users get only their entries
+    // Inject Spring's ObjectMapper so exported rows are serialized exactly like the list endpoints
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Inject EntryGroupDao to check the target group of bulk moves
+    @Autowired
+    private EntryGroupDao entryGroupDao;
+
+    // Inject the change counters behind the list ETag
+    @Autowired
+    private ListVersions listVersions;
+
+    // Lets the browser keep the list but makes it revalidate every time (replaces Spring Security's no-store)
+    static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    // Endpoint to get all entries, admins get all, users get only their entries, optionally in a date range and/or of one type.
+    // The response carries an ETag; a request whose If-None-Match still matches gets 304 without querying the database.
     @GetMapping
-    public List<Entry> getAll() {
+    public ResponseEntity<List<Entry>> getAll(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(required = false) EntryType type,
+                                              WebRequest request) {
+        return visibleEntries(from, to, type, request, null, entries -> entries);
+    }
+
+    // Same as getAll, with each group sent once and the entries referring to it by id
+    // ("!limit": paging keeps its own shape)
+    @GetMapping(params = {"shape=normalized", "!limit"})
+    public ResponseEntity<NormalizedEntries> getAllNormalized(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam(required = false) EntryType type,
+                                                              WebRequest request) {
+        return visibleEntries(from, to, type, request, "normalized", NormalizedEntries::of);
+    }
+
+    // Lists the entries visible to the current user in the given shape, answering 304 when the ETag still matches.
+    // The shape name goes into the ETag, as the two shapes are different representations of the same list.
+    private <T> ResponseEntity<T> visibleEntries(LocalDate from, LocalDate to, EntryType type, WebRequest request,
+                                                 String shapeName, Function<List<Entry>, T> shape) {
         // Get authentication details from the security context
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         // Extract the username of the logged-in user
         String username = authentication.getName();
         // Check if the user has ADMIN authority
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ADMIN"));
+        boolean isAdmin = CurrentUser.isAdmin(authentication);
+
+        // Read the version before the query, so a concurrent write can only leave the tag older than the data
+        String etag = listVersions.etag(username, isAdmin);
+        if (shapeName != null) {
+            etag = etag.substring(0, etag.length() - 1) + "." + shapeName + "\"";
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
 
         // Return all entries for admin, or user-specific entries for regular users
-        if (isAdmin) {
-            return entryDao.getAll();
+        List<Entry> entries = entryDao.getFiltered(username, isAdmin, from, to, type);
+        return ResponseEntity.ok().eTag(etag).cacheControl(LIST_CACHE_CONTROL).body(shape.apply(entries));
+    }
+
+    // Endpoint to get one page of entries (newest first); pass the returned "next" cursor as "after" to continue
+    @GetMapping(params = "limit")
+    public CursorPage<Entry> getPage(@RequestParam int limit, @RequestParam(required = false) String after) {
+        // Get authentication and username
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        // Check if user is admin
+        boolean isAdmin = CurrentUser.isAdmin(authentication);
+
+        try {
+            return entryDao.getPage(username, isAdmin, after, limit);
+        } catch (IllegalArgumentException e) {
+            // Bad cursor or out-of-range limit
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
+    }
+
+    // Endpoint to export all visible entries as newline-delimited JSON, streamed row by row (gzip if the client accepts it)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Resolve the user up front; the body is written later on an async thread without the security context
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        boolean isAdmin = CurrentUser.isAdmin(authentication);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        // One writer for the whole export; it must neither close nor flush the response after each row
+        ObjectWriter writer = objectMapper.writerFor(Entry.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
-        return entryDao.getAllByUser(username);
+        StreamingResponseBody body = responseStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(responseStream, 8192) : responseStream;
+            try {
+                entryDao.export(username, isAdmin, entry -> {
+                    try {
+                        writer.writeValue(out, entry);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        // Client went away; abort the query instead of reading the rest of the table
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            out.flush();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-ndjson")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"entries.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     // Endpoint to search entries based on a field and query
+    // mode=like (default) does a substring match on "field"; mode=fulltext ranks title/description matches and returns the top "limit"
     @GetMapping("/search")
-    public List<Entry> searchEntry(@RequestParam String field, @RequestParam String query) {
+    public List<Entry> searchEntry(@RequestParam(required = false) String field, @RequestParam String query,
+                                   @RequestParam(defaultValue = "like") String mode,
+                                   @RequestParam(defaultValue = "50") int limit) {
+        return search(field, query, mode, limit);
+    }
+
+    // Same as searchEntry, with each group sent once and the entries referring to it by id
+    @GetMapping(value = "/search", params = "shape=normalized")
+    public NormalizedEntries searchEntryNormalized(@RequestParam(required = false) String field, @RequestParam String query,
+                                                   @RequestParam(defaultValue = "like") String mode,
+                                                   @RequestParam(defaultValue = "50") int limit) {
+        return NormalizedEntries.of(search(field, query, mode, limit));
+    }
+
+    // Runs a search for the current user
+    private List<Entry> search(String field, String query, String mode, int limit) {
         // Get authentication and username
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         // Check if user is admin
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ADMIN"));
-        // Delegate search to DAO
-        return entryDao.search(field, query, username, isAdmin);
+        boolean isAdmin = CurrentUser.isAdmin(authentication);
+
+        try {
+            // Full-text mode searches title and description together, so no field is needed
+            if (mode.equalsIgnoreCase("fulltext")) {
+                return entryDao.fullTextSearch(query, username, isAdmin, limit);
+            }
+            if (!mode.equalsIgnoreCase("like")) {
+                throw new IllegalArgumentException("Invalid search mode: " + mode);
+            }
+            if (field == null) {
+                throw new IllegalArgumentException("field is required for mode=like");
+            }
+            // Delegate search to DAO
+            return entryDao.search(field, query, username, isAdmin);
+        } catch (IllegalArgumentException e) {
+            // Unknown mode/field or out-of-range limit
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
-    // Get entries created by a specific user (accessible by admins or others with proper security config)
+    // Endpoint to get the current user's entry counts per type, per day, week or month (optionally within a date range)
+    @GetMapping("/stats")
+    public List<StatsBucket> getStats(@RequestParam(defaultValue = "day") String granularity,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            return entryDao.getStats(authentication.getName(), granularity, from, to);
+        } catch (IllegalArgumentException e) {
+            // Unknown granularity
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Get entries created by a specific user, optionally in a date range and/or of one type
+    // (accessible by admins or others with proper security config)
     @GetMapping("/user/{userName}")
-    public List<Entry> getByUser(@PathVariable String userName) {
+    public List<Entry> getByUser(@PathVariable String userName,
+                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                 @RequestParam(required = false) EntryType type) {
         // Get entries by userName from DAO
-        return entryDao.getByUserId(userName);
+        return entryDao.getByUserId(userName, from, to, type);
     }
 
     // Create a new entry
@@ -82,20 +265,75 @@ public class EntryController {
         return entryDao.save(entry);
     }
 
-    // Update an existing entry by ID
+    // Create several entries at once (e.g. a mobile client syncing offline entries); returns the new ids in order
+    @PostMapping("/batch")
+    public List<Long> createBatch(@RequestBody List<Entry> entries) {
+        if (entries == null || entries.isEmpty() || entries.size() > EntryDao.MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "A batch must contain between 1 and " + EntryDao.MAX_BATCH_SIZE + " entries");
+        }
+
+        // Reject the whole batch up front rather than failing part way through the insert
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry == null || entry.getType() == null || entry.getVisibility() == null || entry.getDate() == null
+                    || entry.getGroup() == null || entry.getGroup().getId() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Entry " + i + " is missing a type, visibility, date or group");
+            }
+        }
+
+        // Every entry is created by the current user
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        for (Entry entry : entries) {
+            entry.setCreatedBy(authentication.getName());
+        }
+        return entryDao.saveAll(entries);
+    }
+
+    // Update an existing entry by ID. If the body carries the version the client last read,
+    // the update is rejected with 409 when someone else changed the entry since.
     @PutMapping("/{id}")
     public Entry update(@PathVariable Long id, @RequestBody Entry entry) {
         // Set the entry ID to be updated
         entry.setId(id);
 
-        // Check if the entry with the given ID exists
-        if (entryDao.findById(id).isEmpty()) {
-            // Throw 404 if not found
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found with id " + id);
+        try {
+            // Update the entry via DAO; empty means there is no entry with this ID
+            return entryDao.update(entry)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found with id " + id));
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         }
+    }
 
-        // Update the entry via DAO
-        return entryDao.update(entry);
+    // Delete several entries at once; returns the outcome for each id
+    @DeleteMapping
+    public List<BulkResult> deleteBulk(@RequestBody List<Long> ids) {
+        checkBulkIds(ids);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return entryDao.deleteAll(ids, authentication.getName(), CurrentUser.isAdmin(authentication));
+    }
+
+    // Move several entries into another group; returns the outcome for each id
+    @PatchMapping("/group")
+    public List<BulkResult> moveBulk(@RequestBody MoveEntriesRequest request) {
+        checkBulkIds(request.getIds());
+        if (request.getGroupId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupId is required");
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAdmin = CurrentUser.isAdmin(authentication);
+
+        // Entries can only be moved into a group the user owns (admins can use any group)
+        EntryGroup group = entryGroupDao.findById(request.getGroupId())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found with id " + request.getGroupId()));
+        if (!isAdmin && !authentication.getName().equals(group.getCreatedBy())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot move entries into another user's group");
+        }
+
+        return entryDao.moveAll(request.getIds(), group.getId(), authentication.getName(), isAdmin);
     }
 
     // Delete an entry by ID
@@ -109,4 +347,43 @@ public class EntryController {
         // Delete the entry using DAO
         entryDao.deleteById(id);
     }
+
+    // Rejects a missing, empty, oversized or null-containing id list
+    private static void checkBulkIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > EntryDao.MAX_BATCH_SIZE || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Between 1 and " + EntryDao.MAX_BATCH_SIZE + " ids are required");
+        }
+    }
+
+    // Whether an Accept-Encoding header allows gzip: listed (or "*" when gzip is not listed) with a q-value above 0,
+    // so "gzip;q=0" refuses it
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return quality > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality > 0;
+            }
+        }
+        return wildcard;
+    }
 }
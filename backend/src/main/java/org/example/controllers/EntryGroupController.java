@@ -6,7 +6,12 @@ import java.util.List;
 
 import org.example.daos.EntryGroupDao;               // DAO for database operations related to EntryGroup
 import org.example.models.EntryGroup;               // Model class representing a group of entries
+import org.example.services.ListVersions;            // Change counters behind the list ETag
 import org.springframework.beans.factory.annotation.Autowired; // For dependency injection
+import org.springframework.dao.DuplicateKeyException;          // Thrown when an id is already in use
+import org.springframework.dao.OptimisticLockingFailureException; // Thrown when updating a stale version
+import org.springframework.http.HttpStatus;                    // HTTP status codes
+import org.springframework.http.ResponseEntity;                // Response with custom headers
 import org.springframework.security.access.prepost.PreAuthorize; // Annotation to restrict access based on authentication
 import org.springframework.security.core.Authentication; // Holds authentication data
 import org.springframework.security.core.context.SecurityContextHolder; // Provides security context
@@ -19,6 +24,8 @@ import org.springframework.web.bind.annotation.RequestBody;    // Binds method p
 import org.springframework.web.bind.annotation.RequestMapping; // Base route mapping
 import org.springframework.web.bind.annotation.RequestParam;   // Binds query parameters
 import org.springframework.web.bind.annotation.RestController; // Indicates this class is a REST controller
+import org.springframework.web.context.request.WebRequest;     // Conditional request (If-None-Match) handling
+import org.springframework.web.server.ResponseStatusException; // To throw exceptions with status codes
 
 // Declare REST controller with base route "/api/groups"
 @RestController
@@ -31,25 +38,31 @@ public class EntryGroupController {
 	@Autowired
 	private EntryGroupDao groupDao;
 
-	// GET endpoint to fetch all groups or filter by optional search string
+	// Inject the change counters behind the list ETag
+	@Autowired
+	private ListVersions listVersions;
+
+	// GET endpoint to fetch all groups or filter by optional search string.
+	// The response carries an ETag; a request whose If-None-Match still matches gets 304 without loading the groups.
 	@GetMapping
-	public List<EntryGroup> getAll(@RequestParam(required = false) String search) {
+	public ResponseEntity<List<EntryGroup>> getAll(@RequestParam(required = false) String search, WebRequest request) {
 		// Get current authentication object
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		// Extract current username
 		String username = authentication.getName();
 
 		// Check if user has ADMIN role
-		boolean isAdmin = authentication.getAuthorities().stream()
-				.anyMatch(auth -> auth.getAuthority().equals("ADMIN"));
+		boolean isAdmin = CurrentUser.isAdmin(authentication);
 
-		// If admin, return all groups, optionally filtered by search string
-		if (isAdmin) {
-			return groupDao.getAll(search);
+		// Read the version before loading, so a concurrent write can only leave the tag older than the data
+		String etag = listVersions.etag(username, isAdmin);
+		if (request.checkNotModified(etag)) {
+			return null;
 		}
 
-		// If not admin, return only groups created by the current user
-		return groupDao.getByUserId(username, search);
+		// If admin, return all groups, otherwise only groups created by the current user, optionally filtered by search string
+		List<EntryGroup> groups = isAdmin ? groupDao.getAll(search) : groupDao.getByUserId(username, search);
+		return ResponseEntity.ok().eTag(etag).cacheControl(EntryController.LIST_CACHE_CONTROL).body(groups);
 	}
 
 	/*
@@ -82,13 +95,51 @@ public class EntryGroupController {
 		return groupDao.save(group);
 	}
 
-	// PUT endpoint to update an existing entry group by ID
+	// POST endpoint to create or restore several groups in one request (e.g. undoing a bulk delete).
+	// Groups sent with an id are restored under that id, which only works for groups the caller deleted
+	// (any deleted group for admins); other ids get 400, and a 409 means one of the ids is already taken.
+	@PostMapping("/batch")
+	public List<EntryGroup> createBatch(@RequestBody List<EntryGroup> groups) {
+		if (groups == null || groups.isEmpty() || groups.size() > EntryGroupDao.MAX_BATCH_SIZE) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"A batch must contain between 1 and " + EntryGroupDao.MAX_BATCH_SIZE + " groups");
+		}
+
+		// Reject the whole batch up front rather than failing part way through the insert
+		for (int i = 0; i < groups.size(); i++) {
+			EntryGroup group = groups.get(i);
+			if (group == null || group.getName() == null || group.getVisibility() == null) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Group " + i + " is missing a name or visibility");
+			}
+		}
+
+		// Every new group is created by the current user; restored ones get back their original creator
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		groups.forEach(group -> group.setCreatedBy(authentication.getName()));
+
+		try {
+			return groupDao.saveAll(groups, CurrentUser.isAdmin(authentication));
+		} catch (IllegalArgumentException e) {
+			// An id that was not deleted by the caller (or never existed)
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		} catch (DuplicateKeyException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "A group with one of the given ids already exists");
+		}
+	}
+
+	// PUT endpoint to update an existing entry group by ID.
+	// A body carrying the version the client last read gets 409 if the group was changed since.
 	@PutMapping("/{id}")
 	public EntryGroup update(@PathVariable Long id, @RequestBody EntryGroup entry) {
 		// Set the ID on the group object to match the path variable
 		entry.setId(id);
-		// Update the group in DB
-		return groupDao.update(entry);
+		try {
+			// Update the group in DB; empty means there is no group with this ID
+			return groupDao.update(entry)
+					.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found with id " + id));
+		} catch (OptimisticLockingFailureException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+		}
 	}
 
 	// DELETE endpoint to delete a group by ID
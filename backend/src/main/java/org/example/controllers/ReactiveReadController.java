@@ -0,0 +1,61 @@
+// Package declaration
+package org.example.controllers;
+
+// Importing required classes
+import org.example.daos.ReactiveEntryDao;       // Non-blocking entry reads
+import org.example.daos.ReactiveEntryGroupDao;  // Non-blocking group reads
+import org.example.models.Entry;                // Entry model class
+import org.example.models.EntryGroup;           // EntryGroup model class
+import org.springframework.beans.factory.annotation.Autowired; // For dependency injection
+import org.springframework.context.annotation.Profile; // Only registered in the "reactive" profile
+import org.springframework.http.MediaType;      // Media type constants
+import org.springframework.security.core.context.ReactiveSecurityContextHolder; // Authentication of the stream
+import org.springframework.security.core.context.SecurityContext; // Holds authentication info
+import org.springframework.stereotype.Component; // Marks this class as a Spring bean
+import org.springframework.web.reactive.function.server.ServerRequest;  // Functional request
+import org.springframework.web.reactive.function.server.ServerResponse; // Functional response
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Streaming read endpoints backed by R2DBC, registered with the "reactive" profile.
+ * These are handler functions rather than MVC mappings: ReactiveReadConfig serves them from their own
+ * servlet through servlet non-blocking I/O, so no thread waits on a slow client. Each response is
+ * newline-delimited JSON written item by item as the socket accepts it, and the next page is only
+ * queried once the client has taken the previous one.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveReadController {
+
+    // Inject the reactive entry reads
+    @Autowired
+    private ReactiveEntryDao entryDao;
+
+    // Inject the reactive group reads
+    @Autowired
+    private ReactiveEntryGroupDao groupDao;
+
+    // Stream the entries visible to the user (admins get all), newest first
+    public Mono<ServerResponse> streamEntries(ServerRequest request) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMap(authentication -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(entryDao.streamVisible(authentication.getName(), CurrentUser.isAdmin(authentication)),
+                                Entry.class));
+    }
+
+    // Stream the groups visible to the user (admins get all, others their own), optionally filtered by name
+    public Mono<ServerResponse> streamGroups(ServerRequest request) {
+        String search = request.queryParam("search").orElse(null);
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMap(authentication -> {
+                    String owner = CurrentUser.isAdmin(authentication) ? null : authentication.getName();
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .body(groupDao.stream(owner, search), EntryGroup.class);
+                });
+    }
+}
@@ -2,6 +2,7 @@
 package org.example.controllers;
 
 // Importing required classes
+import org.example.models.CursorPage;                        // One page of a keyset-paginated list
 import org.example.models.User;                              // User model class
 import org.example.daos.UserDao;                             // DAO for user-related DB operations
 import org.springframework.beans.factory.annotation.Autowired; // For dependency injection
@@ -38,6 +39,25 @@ public class UserController {
         return userDao.getUsers();
     }
 
+    /**
+     * GET endpoint to fetch one page of users (used when a limit is given).
+     *
+     * @param limit  Maximum number of users on the page.
+     * @param after  Cursor returned with the previous page (omit for the first page).
+     * @param prefix Optional username prefix to filter by.
+     * @return The page of users and the cursor for the next one.
+     */
+    @GetMapping(params = "limit")
+    public CursorPage<User> getPage(@RequestParam int limit,
+                                    @RequestParam(required = false) String after,
+                                    @RequestParam(required = false) String prefix) {
+        try {
+            return userDao.getPage(after, limit, prefix);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * GET endpoint to fetch a user by their username.
      *
@@ -2,23 +2,53 @@
 package org.example.daos;
 
 // Required imports
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import javax.sql.DataSource;
 
+import org.example.models.BulkResult;
+import org.example.models.CursorPage;
 import org.example.models.Entry;
 import org.example.models.Entry.EntryType;
 import org.example.models.EntryGroup;
 import org.example.models.EntryGroup.Visibility;
+import org.example.models.StatsBucket;
+import org.example.services.AfterCommit;
+import org.example.services.ListVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Data Access Object (DAO) for Entry model.
@@ -27,12 +57,62 @@ import org.springframework.stereotype.Component;
 @Component
 public class EntryDao {
 
+    private static final Logger log = LoggerFactory.getLogger(EntryDao.class);
+
+    // Rows fetched per round trip while streaming an export (drivers other than MySQL Connector/J)
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    // Fetch size that makes MySQL Connector/J stream a result row by row instead of reading all of it first
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    // Field positions in the search index
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+
+    // Largest number of ids bound into one "id IN (...)" lookup
+    private static final int MAX_IN_LIST = 1000;
+
     // JdbcTemplate for performing database operations
     private final JdbcTemplate jdbcTemplate;
 
+    // JdbcTemplate for the reads that stream a whole table (export, search index) instead of buffering every row
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    // Trigram index over entry titles and descriptions for substring search
+    private final TrigramIndex searchIndex = new TrigramIndex(2);
+
+    // Set while a background load of the search index is running
+    private final AtomicBoolean searchIndexLoading = new AtomicBoolean();
+
+    // Change counters behind the list ETags, bumped by every write
+    private final ListVersions listVersions;
+
+    // Snapshot of the public entries shared by every user's entry list
+    private final PublicEntryFeed publicFeed;
+
     // Constructor that initializes JdbcTemplate with DataSource
-    public EntryDao(DataSource dataSource) {
+    public EntryDao(DataSource dataSource, ListVersions listVersions, PublicEntryFeed publicFeed) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.listVersions = listVersions;
+        this.publicFeed = publicFeed;
+        this.streamingJdbcTemplate = streamingTemplate(dataSource);
+    }
+
+    /**
+     * Returns a JdbcTemplate whose statements stream their results. MySQL Connector/J only does that
+     * for a statement with a fetch size of Integer.MIN_VALUE (reading rows off the socket as they are
+     * consumed), which other drivers such as MariaDB's reject; those stream with a positive fetch size.
+     * Only the statements of this template stream, so every other query keeps reading its whole result at once.
+     */
+    private static JdbcTemplate streamingTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource) {
+            @Override
+            protected void applyStatementSettings(Statement stmt) throws SQLException {
+                super.applyStatementSettings(stmt);
+                boolean mysql = stmt.getConnection().getMetaData().getDriverName().startsWith("MySQL");
+                stmt.setFetchSize(mysql ? MYSQL_STREAMING_FETCH_SIZE : EXPORT_FETCH_SIZE);
+            }
+        };
     }
 
     // Basic RowMapper for mapping result sets to Entry objects
@@ -40,91 +120,260 @@ public class EntryDao {
         Entry entry = new Entry();
         entry.setId(rs.getLong("id"));
         entry.setTitle(rs.getString("title"));
-        entry.setType(EntryType.valueOf(rs.getString("type")));
+        entry.setType(EntryRowMapper.type(rs.getString("type")));
         entry.setDescription(rs.getString("description"));
-        entry.setVisibility(Visibility.valueOf(rs.getString("visibility")));
+        entry.setVisibility(EntryRowMapper.visibility(rs.getString("visibility")));
         entry.setDate(rs.getDate("date"));
         entry.setCreatedBy(rs.getString("created_by"));
+        entry.setVersion(rs.getInt("version"));
         return entry;
     };
 
+    // Largest page size accepted by getPage
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Largest number of ranked results returned by fullTextSearch
+    public static final int MAX_SEARCH_RESULTS = 200;
+
+    // Largest number of entries accepted by saveAll
+    public static final int MAX_BATCH_SIZE = 500;
+
+    // Insert used by save and saveAll
+    private static final String INSERT_ENTRY =
+        "INSERT INTO entries (title, type, description, visibility, date, created_by, group_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Update of an entry by id; a version condition may follow, then KEEP_OLD_VALUES
+    private static final String UPDATE_ENTRY =
+        "UPDATE entries SET title = ?, type = ?, description = ?, visibility = ?, date = ?, group_id = ?, version = version + 1 " +
+        "WHERE id = ?";
+
+    // Always-true conditions that copy the matched row's values into session variables before it is changed
+    private static final String KEEP_OLD_VALUES =
+        " AND (@old_created_by := created_by) <=> created_by AND (@old_type := type) <=> type" +
+        " AND (@old_date := date) <=> date AND (@old_visibility := visibility) <=> visibility" +
+        " AND (@old_version := version) <=> version";
+
+    // Columns selected by every query that joins an entry with its group (here and in ReactiveEntryDao)
+    static final String JOINED_SELECT = """
+        SELECT
+            e.id AS entry_id, e.title, e.type, e.description, e.visibility, e.date, e.created_by, e.version,
+            g.id AS group_id, g.name AS group_name, g.description AS group_description,
+            g.visibility AS group_visibility, g.created_by AS group_created_by
+        FROM entries e
+        JOIN entry_groups g ON e.group_id = g.id
+    """;
+
+    // Keyset predicate for rows strictly after a (date, id) cursor in newest-first order
+    static final String AFTER_CURSOR = " AND (e.date < ? OR (e.date = ? AND e.id < ?))";
+
+    // Newest-first ordering used by paginated queries; matches the (…, date, id) indexes
+    static final String NEWEST_FIRST = " ORDER BY e.date DESC, e.id DESC LIMIT ?";
+
     /**
      * Retrieves all entries with full group information (for admin users).
      */
     public List<Entry> getAll() {
-        String sql = """
-            SELECT
-                e.id AS entry_id, e.title, e.type, e.description, e.visibility, e.date, e.created_by,
-                g.id AS group_id, g.name AS group_name, g.description AS group_description,
-                g.visibility AS group_visibility, g.created_by AS group_created_by
-            FROM entries e
-            JOIN entry_groups g ON e.group_id = g.id
-        """;
-
-        // Map each row to Entry and its associated EntryGroup
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Entry entry = new Entry();
-            entry.setId(rs.getLong("entry_id"));
-            entry.setTitle(rs.getString("title"));
-            entry.setType(EntryType.valueOf(rs.getString("type")));
-            entry.setDescription(rs.getString("description"));
-            entry.setVisibility(Visibility.valueOf(rs.getString("visibility")));
-            entry.setDate(rs.getDate("date"));
-            entry.setCreatedBy(rs.getString("created_by"));
-
-            EntryGroup group = new EntryGroup();
-            group.setId(rs.getLong("group_id"));
-            group.setName(rs.getString("group_name"));
-            group.setDescription(rs.getString("group_description"));
-            group.setVisibility(Visibility.valueOf(rs.getString("group_visibility")));
-            group.setCreatedBy(rs.getString("group_created_by"));
-
-            entry.setGroup(group);
-            return entry;
-        });
-    }
-
-    /**
-     * Retrieves all entries created by a specific user or public entries.
+        return jdbcTemplate.query(JOINED_SELECT, new EntryRowMapper());
+    }
+
+    /**
+     * Retrieves all entries created by a specific user or public entries, in id order.
+     * Public entries come from the shared feed; only the user's private entries are queried.
      */
     public List<Entry> getAllByUser(String username) {
-        String sql = """
-            SELECT
-                e.id AS entry_id, e.title, e.type, e.description, e.visibility, e.date, e.created_by,
-                g.id AS group_id, g.name AS group_name, g.description AS group_description,
-                g.visibility AS group_visibility, g.created_by AS group_created_by
-            FROM entries e
-            JOIN entry_groups g ON e.group_id = g.id
-            WHERE e.created_by = ? OR e.visibility = 'PUBLIC'
-        """;
-
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Entry entry = new Entry();
-            entry.setId(rs.getLong("entry_id"));
-            entry.setTitle(rs.getString("title"));
-            entry.setType(EntryType.valueOf(rs.getString("type")));
-            entry.setDescription(rs.getString("description"));
-            entry.setVisibility(Visibility.valueOf(rs.getString("visibility")));
-            entry.setDate(rs.getDate("date"));
-            entry.setCreatedBy(rs.getString("created_by"));
-
-            EntryGroup group = new EntryGroup();
-            group.setId(rs.getLong("group_id"));
-            group.setName(rs.getString("group_name"));
-            group.setDescription(rs.getString("group_description"));
-            group.setVisibility(Visibility.valueOf(rs.getString("group_visibility")));
-            group.setCreatedBy(rs.getString("group_created_by"));
-
-            entry.setGroup(group);
-            return entry;
-        }, username);
+        List<Entry> shared = publicFeed.get(() -> jdbcTemplate.query(
+            JOINED_SELECT + " WHERE e.visibility = 'PUBLIC' ORDER BY e.id", new EntryRowMapper()));
+        List<Entry> own = jdbcTemplate.query(
+            JOINED_SELECT + " WHERE e.created_by = ? AND (e.visibility IS NULL OR e.visibility <> 'PUBLIC') ORDER BY e.id", new EntryRowMapper(), username);
+
+        // Both lists are in id order, so merge them
+        List<Entry> merged = new ArrayList<>(shared.size() + own.size());
+        int i = 0, j = 0;
+        while (i < shared.size() || j < own.size()) {
+            if (j == own.size() || (i < shared.size() && shared.get(i).getId() < own.get(j).getId())) {
+                merged.add(shared.get(i++));
+            } else {
+                merged.add(own.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Retrieves the entries visible to the caller (every entry for admins, otherwise their own and public ones)
+     * that fall in a date range and/or have a type, in id order. The conditions are part of the query,
+     * so only matching rows are read, through the date and type indexes.
+     * With no conditions this is the same as getAll / getAllByUser.
+     *
+     * @param username The caller.
+     * @param isAdmin  Whether the caller sees every entry.
+     * @param from     First day to include, or null.
+     * @param to       Last day to include, or null.
+     * @param type     Type to include, or null for every type.
+     */
+    public List<Entry> getFiltered(String username, boolean isAdmin, LocalDate from, LocalDate to, EntryType type) {
+        if (from == null && to == null && type == null) {
+            return isAdmin ? getAll() : getAllByUser(username);
+        }
+        List<Object> params = new ArrayList<>();
+        String sql = filteredQuery(username, isAdmin, from, to, type, params);
+        return jdbcTemplate.query(sql, new EntryRowMapper(), params.toArray());
+    }
+
+    /**
+     * Returns the database's plan (EXPLAIN rows) for the query getFiltered runs with the same arguments.
+     * Used to check that the filters are answered from indexes rather than by scanning the table.
+     */
+    public List<Map<String, Object>> explainFiltered(String username, boolean isAdmin, LocalDate from, LocalDate to, EntryType type) {
+        List<Object> params = new ArrayList<>();
+        String sql = filteredQuery(username, isAdmin, from, to, type, params);
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, params.toArray());
+    }
+
+    /**
+     * Builds the query behind getFiltered. For non-admins, own and public entries are read by two
+     * separate branches, so each can use its own index ((created_by, date, id) and (visibility, date, id))
+     * where an OR would have to scan.
+     */
+    private static String filteredQuery(String username, boolean isAdmin, LocalDate from, LocalDate to, EntryType type,
+                                        List<Object> params) {
+        if (isAdmin) {
+            String conditions = filterConditions("e.", from, to, type, params);
+            return JOINED_SELECT + " WHERE " + conditions + " ORDER BY entry_id";
+        }
+        params.add(username);
+        String own = JOINED_SELECT + " WHERE e.created_by = ? AND (e.visibility IS NULL OR e.visibility <> 'PUBLIC') AND "
+            + filterConditions("e.", from, to, type, params);
+        String shared = JOINED_SELECT + " WHERE e.visibility = 'PUBLIC' AND "
+            + filterConditions("e.", from, to, type, params);
+        return "(" + own + ") UNION ALL (" + shared + ") ORDER BY entry_id";
+    }
+
+    /**
+     * Returns the date range and type conditions (ANDed, "TRUE" if there are none) on the columns
+     * with the given prefix, and adds their parameters.
+     */
+    private static String filterConditions(String prefix, LocalDate from, LocalDate to, EntryType type, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add(prefix + "date >= ?");
+            params.add(java.sql.Date.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add(prefix + "date <= ?");
+            params.add(java.sql.Date.valueOf(to));
+        }
+        if (type != null) {
+            conditions.add(prefix + "type = ?");
+            params.add(type.name());
+        }
+        return conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions);
+    }
+
+    /**
+     * Retrieves one page of entries, newest first (by date, then id).
+     * Uses keyset pagination, so the cost of a page does not depend on how deep into the list it is.
+     * Admins page through every entry; other users see their own entries plus public ones.
+     *
+     * @param username The current user.
+     * @param isAdmin  Whether the current user is an admin.
+     * @param after    Cursor returned with the previous page, or null for the first page.
+     * @param limit    Maximum number of entries on the page (1 to MAX_PAGE_SIZE).
+     * @return The page of entries and the cursor for the next one.
+     * @throws IllegalArgumentException if the cursor or the limit is invalid.
+     */
+    public CursorPage<Entry> getPage(String username, boolean isAdmin, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Object[] cursor = after == null || after.isBlank() ? null : decodeCursor(after);
+        String keyset = cursor == null ? "" : AFTER_CURSOR;
+        List<Object> params = new ArrayList<>();
+        String sql;
+
+        // Fetch one extra row to find out whether another page follows
+        int fetch = limit + 1;
+
+        if (isAdmin) {
+            sql = JOINED_SELECT + " WHERE 1=1" + keyset + NEWEST_FIRST;
+            addCursorParams(params, cursor);
+            params.add(fetch);
+        } else {
+            // Two branches instead of "created_by = ? OR visibility = 'PUBLIC'" so each one
+            // can walk its own (created_by, date, id) / (visibility, date, id) index
+            sql = "(" + JOINED_SELECT + " WHERE e.created_by = ?" + keyset + NEWEST_FIRST + ")"
+                + " UNION ALL "
+                + "(" + JOINED_SELECT + " WHERE e.visibility = 'PUBLIC' AND (e.created_by <> ? OR e.created_by IS NULL)"
+                + keyset + NEWEST_FIRST + ")"
+                + " ORDER BY date DESC, entry_id DESC LIMIT ?";
+            params.add(username);
+            addCursorParams(params, cursor);
+            params.add(fetch);
+            params.add(username);
+            addCursorParams(params, cursor);
+            params.add(fetch);
+            params.add(fetch);
+        }
+
+        List<Entry> rows = jdbcTemplate.query(sql, new EntryRowMapper(), params.toArray());
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<Entry> items = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPage<>(items, encodeCursor(items.get(items.size() - 1)));
+    }
+
+    /**
+     * Streams every entry visible to the user, in id order, to the given consumer one row at a time.
+     * Rows are read from a forward-only result set with a bounded fetch size, so memory use does not
+     * grow with the number of rows exported.
+     *
+     * @param username The current user.
+     * @param isAdmin  Whether the current user is an admin (admins export every entry).
+     * @param consumer Receives each entry as soon as its row has been read.
+     */
+    public void export(String username, boolean isAdmin, Consumer<Entry> consumer) {
+        EntryRowMapper mapper = new EntryRowMapper();
+        // Counted here: a streaming MySQL result set does not support ResultSet.getRow()
+        RowCallbackHandler handler = new RowCallbackHandler() {
+            private int rowNum;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                consumer.accept(mapper.mapRow(rs, rowNum++));
+            }
+        };
+        if (isAdmin) {
+            streamingJdbcTemplate.query(JOINED_SELECT + " ORDER BY e.id", handler);
+        } else {
+            streamingJdbcTemplate.query(JOINED_SELECT + " WHERE e.created_by = ? OR e.visibility = 'PUBLIC' ORDER BY e.id",
+                    handler, username);
+        }
     }
 
     /**
      * Retrieves all entries created by a specific user (simple version).
      */
     public List<Entry> getByUserId(String userName) {
-        return jdbcTemplate.query("SELECT * FROM entries WHERE created_by = ?", rowMapper, userName);
+        return getByUserId(userName, null, null, null);
+    }
+
+    /**
+     * Retrieves the entries created by a specific user in a date range and/or of a type (simple version).
+     *
+     * @param userName The creator.
+     * @param from     First day to include, or null.
+     * @param to       Last day to include, or null.
+     * @param type     Type to include, or null for every type.
+     */
+    public List<Entry> getByUserId(String userName, LocalDate from, LocalDate to, EntryType type) {
+        List<Object> params = new ArrayList<>();
+        params.add(userName);
+        String conditions = filterConditions("", from, to, type, params);
+        return jdbcTemplate.query("SELECT * FROM entries WHERE created_by = ? AND " + conditions, rowMapper, params.toArray());
     }
 
     /**
@@ -139,52 +388,412 @@ public class EntryDao {
     /**
      * Saves a new entry and returns the saved entry with the generated ID.
      */
+    @Transactional
     public Entry save(Entry entry) {
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
         jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(
-                "INSERT INTO entries (title, type, description, visibility, date, created_by, group_id) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)",
-                Statement.RETURN_GENERATED_KEYS
-            );
-            ps.setString(1, entry.getTitle());
-            ps.setString(2, entry.getType().name());
-            ps.setString(3, entry.getDescription());
-            ps.setString(4, entry.getVisibility().name());
-            ps.setDate(5, new java.sql.Date(entry.getDate().getTime()));
-            ps.setString(6, entry.getCreatedBy());
-            ps.setLong(7, entry.getGroup().getId());
+            PreparedStatement ps = connection.prepareStatement(INSERT_ENTRY, Statement.RETURN_GENERATED_KEYS);
+            setInsertParams(ps, entry);
             return ps;
         }, keyHolder);
 
         Long id = keyHolder.getKey().longValue();
-        return jdbcTemplate.queryForObject("SELECT * FROM entries WHERE id = ?", rowMapper, id);
+        addToStats(List.of(id));
+        Entry saved = jdbcTemplate.queryForObject("SELECT * FROM entries WHERE id = ?", rowMapper, id);
+        indexEntry(saved);
+        listVersions.changed(saved.getCreatedBy(), saved.getVisibility() == Visibility.PUBLIC);
+        refreshFeed(List.of(id));
+        return saved;
     }
 
     /**
-     * Updates an existing entry and returns the updated version.
+     * Inserts several entries in one transaction using a single JDBC batch.
+     * Generated ids are read from the batch itself, so no row is selected back.
+     *
+     * @param entries The entries to insert (1 to MAX_BATCH_SIZE).
+     * @return The generated ids, in the same order as the entries.
      */
-    public Entry update(Entry entry) {
-        jdbcTemplate.update(
-            "UPDATE entries SET title = ?, type = ?, description = ?, visibility = ?, date = ?, group_id = ? WHERE id = ?",
+    @Transactional
+    public List<Long> saveAll(List<Entry> entries) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_ENTRY, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setInsertParams(ps, entries.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return entries.size();
+                }
+            },
+            keyHolder
+        );
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != entries.size()) {
+            throw new IllegalStateException("Expected " + entries.size() + " generated keys but got " + keys.size());
+        }
+
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            Entry entry = entries.get(i);
+            entry.setId(id);
+            indexEntry(entry);
+            listVersions.changed(entry.getCreatedBy(), entry.getVisibility() == Visibility.PUBLIC);
+            ids.add(id);
+        }
+        addToStats(ids);
+        refreshFeed(ids);
+        return ids;
+    }
+
+    /**
+     * Binds an entry's columns to INSERT_ENTRY.
+     */
+    private static void setInsertParams(PreparedStatement ps, Entry entry) throws SQLException {
+        ps.setString(1, entry.getTitle());
+        ps.setString(2, entry.getType().name());
+        ps.setString(3, entry.getDescription());
+        ps.setString(4, entry.getVisibility().name());
+        ps.setDate(5, new java.sql.Date(entry.getDate().getTime()));
+        ps.setString(6, entry.getCreatedBy());
+        ps.setLong(7, entry.getGroup().getId());
+    }
+
+    /**
+     * Updates an existing entry, provided nobody else updated it first (optimistic versioning).
+     * This is a single UPDATE that only applies if the stored version still matches the caller's; the number
+     * of affected rows tells success from a stale version or a missing entry, and the row is only read again
+     * to tell those two apart. The UPDATE keeps the values it replaced in session variables (MySQL has no
+     * UPDATE ... RETURNING), which are read back on the same connection to move the entry's stats bucket and
+     * to tell which lists changed, and the result is built from the two without selecting the row.
+     *
+     * @param entry The new state. A null version overwrites whatever is stored.
+     * @return The updated entry with its new version, or empty if there is no entry with that id.
+     * @throws OptimisticLockingFailureException if the entry was changed since the given version was read.
+     */
+    @Transactional
+    public Optional<Entry> update(Entry entry) {
+        java.sql.Date date = new java.sql.Date(entry.getDate().getTime());
+        List<Object> args = new ArrayList<>(Arrays.asList(
             entry.getTitle(),
             entry.getType().name(),
             entry.getDescription(),
             entry.getVisibility().name(),
-            new java.sql.Date(entry.getDate().getTime()),
+            date,
             entry.getGroup().getId(),
-            entry.getId()
-        );
+            entry.getId()));
+        String expectedVersion = "";
+        if (entry.getVersion() != null) {
+            expectedVersion = " AND version = ?";
+            args.add(entry.getVersion());
+        }
+        int updated = jdbcTemplate.update(UPDATE_ENTRY + expectedVersion + KEEP_OLD_VALUES, args.toArray());
+        if (updated == 0) {
+            // Only on failure: find out whether the entry is gone or was changed by someone else
+            if (entry.getVersion() == null || findById(entry.getId()).isEmpty()) {
+                return Optional.empty();
+            }
+            throw staleEntry(entry.getId());
+        }
+
+        // The replaced values, kept by the UPDATE above (same connection, as this runs in a transaction)
+        String[] old = jdbcTemplate.queryForObject(
+            "SELECT @old_created_by, @old_type, @old_date, @old_visibility, @old_version",
+            (rs, rowNum) -> new String[] {rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)});
+        String createdBy = old[0];
+        String oldType = old[1];
+        LocalDate oldDate = LocalDate.parse(old[2]);
+        boolean wasPublic = Visibility.PUBLIC.name().equals(old[3]);
+        int oldVersion = Integer.parseInt(old[4]);
 
-        return jdbcTemplate.queryForObject("SELECT * FROM entries WHERE id = ?", rowMapper, entry.getId());
+        // Move the entry from its old stats bucket to the new one, if its day or type changed
+        boolean moved = !oldType.equals(entry.getType().name()) || !oldDate.equals(date.toLocalDate());
+        if (moved && createdBy != null) {
+            jdbcTemplate.update(
+                "INSERT INTO entry_stats (username, day, type, entry_count) VALUES (?, ?, ?, -1), (?, ?, ?, 1) " +
+                "ON DUPLICATE KEY UPDATE entry_count = entry_count + VALUES(entry_count)",
+                createdBy, java.sql.Date.valueOf(oldDate), oldType,
+                createdBy, date, entry.getType().name());
+        }
+
+        Entry result = new Entry();
+        result.setId(entry.getId());
+        result.setTitle(entry.getTitle());
+        result.setType(entry.getType());
+        result.setDescription(entry.getDescription());
+        result.setVisibility(entry.getVisibility());
+        result.setDate(date);
+        result.setCreatedBy(createdBy);
+        result.setGroup(entry.getGroup());
+        result.setVersion(oldVersion + 1);
+
+        indexEntry(result);
+        // The lists that showed the old row change as well as those showing the new one
+        boolean shared = wasPublic || result.getVisibility() == Visibility.PUBLIC;
+        listVersions.changed(result.getCreatedBy(), shared);
+        // A private entry that stays private is not in the public feed
+        if (shared) {
+            refreshFeed(List.of(result.getId()));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * The exception thrown when an update finds the entry changed by someone else.
+     */
+    private static OptimisticLockingFailureException staleEntry(Long id) {
+        return new OptimisticLockingFailureException("Entry " + id + " was changed by someone else; reload it and try again");
     }
 
     /**
      * Deletes an entry by its ID.
      */
+    @Transactional
     public void deleteById(Long id) {
+        removeFromStats(List.of(id));
         jdbcTemplate.update("DELETE FROM entries WHERE id = ?", id);
+        entryChanged(id);
+        unindexEntries(List.of(id));
+        refreshFeed(List.of(id));
+    }
+
+    /**
+     * Deletes several entries with one ownership check and one DELETE.
+     * Ids that do not exist or belong to another user (unless the caller is an admin) are skipped.
+     *
+     * @param ids      The entry ids (at most MAX_BATCH_SIZE).
+     * @param username The current user.
+     * @param isAdmin  Whether the current user is an admin.
+     * @return One outcome per distinct id, in request order.
+     */
+    @Transactional
+    public List<BulkResult> deleteAll(List<Long> ids, String username, boolean isAdmin) {
+        List<BulkResult> results = checkOwnership(ids, username, isAdmin);
+        List<Long> allowed = allowedIds(results);
+        if (!allowed.isEmpty()) {
+            removeFromStats(allowed);
+            jdbcTemplate.update("DELETE FROM entries WHERE id IN (" + placeholders(allowed.size()) + ")", allowed.toArray());
+            allowed.forEach(this::entryChanged);
+            unindexEntries(allowed);
+            refreshFeed(allowed);
+        }
+        return results;
+    }
+
+    /**
+     * Moves several entries into another group with one ownership check and one UPDATE.
+     * Ids that do not exist or belong to another user (unless the caller is an admin) are skipped.
+     * Each moved entry gets a new version, so an update based on the old one is rejected.
+     *
+     * @param ids      The entry ids (at most MAX_BATCH_SIZE).
+     * @param groupId  The group to move the entries into.
+     * @param username The current user.
+     * @param isAdmin  Whether the current user is an admin.
+     * @return One outcome per distinct id, in request order.
+     */
+    @Transactional
+    public List<BulkResult> moveAll(List<Long> ids, long groupId, String username, boolean isAdmin) {
+        List<BulkResult> results = checkOwnership(ids, username, isAdmin);
+        List<Long> allowed = allowedIds(results);
+        if (!allowed.isEmpty()) {
+            List<Object> params = new ArrayList<>();
+            params.add(groupId);
+            params.addAll(allowed);
+            jdbcTemplate.update("UPDATE entries SET group_id = ?, version = version + 1 WHERE id IN (" + placeholders(allowed.size()) + ")", params.toArray());
+            allowed.forEach(this::entryChanged);
+            refreshFeed(allowed);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the user's entry counts per type, per day, week (starting Monday) or month, oldest period first.
+     * Reads the entry_stats rollup, so the cost grows with the number of days that have entries, not with the entries.
+     *
+     * @param username    The user.
+     * @param granularity "day", "week" or "month".
+     * @param from        First day to include, or null.
+     * @param to          Last day to include, or null.
+     * @throws IllegalArgumentException If the granularity is not supported.
+     */
+    public List<StatsBucket> getStats(String username, String granularity, LocalDate from, LocalDate to) {
+        String period = switch (granularity.toLowerCase(Locale.ROOT)) {
+            case "day" -> "day";
+            case "week" -> "DATE_SUB(day, INTERVAL WEEKDAY(day) DAY)";
+            case "month" -> "DATE_SUB(day, INTERVAL DAYOFMONTH(day) - 1 DAY)";
+            default -> throw new IllegalArgumentException("Invalid granularity: " + granularity);
+        };
+
+        StringBuilder sql = new StringBuilder("SELECT " + period + " AS period, type, SUM(entry_count) AS total FROM entry_stats WHERE username = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(username);
+        if (from != null) {
+            sql.append(" AND day >= ?");
+            params.add(java.sql.Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND day <= ?");
+            params.add(java.sql.Date.valueOf(to));
+        }
+        sql.append(" GROUP BY period, type HAVING total > 0 ORDER BY period, type");
+
+        // Rows arrive ordered by period, so consecutive rows fill the same bucket
+        Map<LocalDate, StatsBucket> buckets = new LinkedHashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            LocalDate start = rs.getDate("period").toLocalDate();
+            buckets.computeIfAbsent(start, StatsBucket::new)
+                .getCounts().put(EntryType.valueOf(rs.getString("type")), rs.getLong("total"));
+        }, params.toArray());
+        return new ArrayList<>(buckets.values());
+    }
+
+    /**
+     * Recomputes the entry_stats rollup from the entries table.
+     * Served by POST /api/admin/entry-stats/rebuild, to call after entries are written outside this DAO
+     * (e.g. a bulk SQL import); backfillStats runs it on startup for a database without statistics.
+     * Rows a concurrent write adds meanwhile are overwritten by the recount, so no entry is counted twice.
+     */
+    @Transactional
+    public void rebuildStats() {
+        jdbcTemplate.update("DELETE FROM entry_stats");
+        jdbcTemplate.update("""
+            INSERT INTO entry_stats (username, day, type, entry_count)
+            SELECT created_by, date, type, COUNT(*) FROM entries WHERE created_by IS NOT NULL GROUP BY created_by, date, type
+            ON DUPLICATE KEY UPDATE entry_count = VALUES(entry_count)
+        """);
+    }
+
+    /**
+     * Fills the entry_stats rollup on a database that has entries but no statistics, such as one created
+     * before the rollup existed; otherwise the rollup would only count entries written from now on.
+     * Runs once the application has started; if the tables are not available, statistics stay as they are.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillStats() {
+        try {
+            Boolean missing = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM entry_stats) AND EXISTS (SELECT 1 FROM entries)", Boolean.class);
+            if (Boolean.TRUE.equals(missing)) {
+                log.info("Entry statistics are empty, rebuilding them from the entries");
+                // Called directly, so without a transaction: the rollup is empty, leaving only the single INSERT ... SELECT
+                rebuildStats();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Entry statistics not backfilled: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Counts the given (just inserted or updated) entries into their entry_stats buckets.
+     */
+    private void addToStats(List<Long> ids) {
+        jdbcTemplate.update(
+            "INSERT INTO entry_stats (username, day, type, entry_count) " +
+            "SELECT * FROM (SELECT created_by, date, type, COUNT(*) AS n FROM entries " +
+            "WHERE created_by IS NOT NULL AND id IN (" + placeholders(ids.size()) + ") GROUP BY created_by, date, type) AS d " +
+            "ON DUPLICATE KEY UPDATE entry_count = entry_count + d.n",
+            ids.toArray());
+    }
+
+    /**
+     * Takes the given entries (about to be deleted or updated) out of their entry_stats buckets.
+     */
+    private void removeFromStats(List<Long> ids) {
+        jdbcTemplate.update(
+            "UPDATE entry_stats s JOIN (SELECT created_by, date, type, COUNT(*) AS n FROM entries " +
+            "WHERE id IN (" + placeholders(ids.size()) + ") GROUP BY created_by, date, type) AS d " +
+            "ON s.username = d.created_by AND s.day = d.date AND s.type = d.type " +
+            "SET s.entry_count = s.entry_count - d.n",
+            ids.toArray());
+    }
+
+    /**
+     * Looks up the creators of the given entries in one query and works out, per distinct id,
+     * whether the user may change it.
+     */
+    private List<BulkResult> checkOwnership(List<Long> ids, String username, boolean isAdmin) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, String> owners = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            jdbcTemplate.query("SELECT id, created_by FROM entries WHERE id IN (" + placeholders(distinct.size()) + ")",
+                rs -> {
+                    owners.put(rs.getLong("id"), rs.getString("created_by"));
+                },
+                distinct.toArray());
+        }
+
+        List<BulkResult> results = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            BulkResult.Status status;
+            if (!owners.containsKey(id)) {
+                status = BulkResult.Status.NOT_FOUND;
+            } else if (isAdmin || username.equals(owners.get(id))) {
+                status = BulkResult.Status.OK;
+            } else {
+                status = BulkResult.Status.FORBIDDEN;
+            }
+            results.add(new BulkResult(id, status));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the ids whose outcome is OK.
+     */
+    private static List<Long> allowedIds(List<BulkResult> results) {
+        return results.stream()
+            .filter(r -> r.getStatus() == BulkResult.Status.OK)
+            .map(BulkResult::getId)
+            .toList();
+    }
+
+    /**
+     * Returns "?, ?, ..." with the given number of placeholders.
+     */
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Full-text search over entry titles and descriptions, best matches first.
+     * Backed by the FULLTEXT index on (title, description), so it does not scan the table
+     * the way a LIKE '%q%' search does. Matches whole words (natural language mode), not substrings.
+     *
+     * @param query    Words to search for.
+     * @param username The current user.
+     * @param isAdmin  Whether the current user is an admin (admins search every entry).
+     * @param limit    Maximum number of results (1 to MAX_SEARCH_RESULTS).
+     * @return Matching entries ordered by relevance.
+     */
+    public List<Entry> fullTextSearch(String query, String username, boolean isAdmin, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        String match = "MATCH(e.title, e.description) AGAINST (? IN NATURAL LANGUAGE MODE)";
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(JOINED_SELECT).append(" WHERE ").append(match);
+        params.add(query);
+
+        // Restrict non-admins to their own and public entries
+        if (!isAdmin) {
+            sql.append(" AND (e.created_by = ? OR e.visibility = 'PUBLIC')");
+            params.add(username);
+        }
+
+        // MySQL/MariaDB evaluate the repeated MATCH once and rank by its relevance score
+        sql.append(" ORDER BY ").append(match).append(" DESC, e.id DESC LIMIT ?");
+        params.add(query);
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), new EntryRowMapper(), params.toArray());
     }
 
     /**
@@ -199,15 +808,25 @@ public class EntryDao {
         }
 
         // Build the SQL query dynamically based on role and filters
-        StringBuilder sql = new StringBuilder("""
-            SELECT
-                e.id AS entry_id, e.title, e.type, e.description, e.visibility, e.date, e.created_by,
-                g.id AS group_id, g.name AS group_name, g.description AS group_description,
-                g.visibility AS group_visibility, g.created_by AS group_created_by
-            FROM entries e
-            JOIN entry_groups g ON e.group_id = g.id
-            WHERE
-        """);
+        StringBuilder sql = new StringBuilder(JOINED_SELECT).append(" WHERE");
+
+        // Title/description searches are answered from the trigram index when it can (no table scan)
+        int indexField = field.equals("title") ? TITLE : field.equals("description") ? DESCRIPTION : -1;
+        if (indexField >= 0 && !searchIndex.isReady()) {
+            retrySearchIndex();
+        }
+        if (indexField >= 0 && searchIndex.canAnswer(query)) {
+            List<Long> ids = searchIndex.search(indexField, query, isAdmin ? null : username, false);
+            String needle = query.toLowerCase(Locale.ROOT);
+            // Re-check each row as loaded, in case it changed outside this DAO since it was indexed
+            return findJoinedByIds(ids).stream()
+                    .filter(e -> isAdmin || username.equals(e.getCreatedBy()) || e.getVisibility() == Visibility.PUBLIC)
+                    .filter(e -> {
+                        String text = indexField == TITLE ? e.getTitle() : e.getDescription();
+                        return text != null && text.toLowerCase(Locale.ROOT).contains(needle);
+                    })
+                    .toList();
+        }
 
         List<Object> params = new ArrayList<>();
 
@@ -224,25 +843,151 @@ public class EntryDao {
         params.add("%" + query.toLowerCase() + "%");
 
         // Execute query and map results
-        return jdbcTemplate.query(sql.toString(), params.toArray(), (rs, rowNum) -> {
-            Entry entry = new Entry();
-            entry.setId(rs.getLong("entry_id"));
-            entry.setTitle(rs.getString("title"));
-            entry.setType(EntryType.valueOf(rs.getString("type")));
-            entry.setDescription(rs.getString("description"));
-            entry.setVisibility(Visibility.valueOf(rs.getString("visibility")));
-            entry.setDate(rs.getDate("date"));
-            entry.setCreatedBy(rs.getString("created_by"));
-
-            EntryGroup group = new EntryGroup();
-            group.setId(rs.getLong("group_id"));
-            group.setName(rs.getString("group_name"));
-            group.setDescription(rs.getString("group_description"));
-            group.setVisibility(Visibility.valueOf(rs.getString("group_visibility")));
-            group.setCreatedBy(rs.getString("group_created_by"));
-
-            entry.setGroup(group);
-            return entry;
-        });
+        return jdbcTemplate.query(sql.toString(), new EntryRowMapper(), params.toArray());
+    }
+
+    /**
+     * Builds the opaque cursor pointing just past the given entry.
+     */
+    private static String encodeCursor(Entry last) {
+        LocalDate date = new java.sql.Date(last.getDate().getTime()).toLocalDate();
+        String raw = date + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by encodeCursor into its (date, id) parts.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            LocalDate date = LocalDate.parse(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            return new Object[] { java.sql.Date.valueOf(date), id };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Adds the bind values for AFTER_CURSOR (date, date, id), if a cursor is present.
+     */
+    private static void addCursorParams(List<Object> params, Object[] cursor) {
+        if (cursor != null) {
+            params.add(cursor[0]);
+            params.add(cursor[0]);
+            params.add(cursor[1]);
+        }
+    }
+
+    /**
+     * Discards the search index and reloads it from the database.
+     * Call after entries are written outside this DAO (e.g. a bulk SQL import).
+     */
+    public void rebuildSearchIndex() {
+        synchronized (searchIndex) {
+            searchIndex.clear();
+            buildSearchIndex();
+        }
+        // The rows changed without going through this DAO, so neither the list ETags nor the public feed can be trusted
+        listVersions.invalidateAll();
+        publicFeed.invalidate();
+    }
+
+    /**
+     * Loads every entry into the search index. Runs once the application has started, so no request
+     * waits for it; until it is loaded (or if the table is not available yet) searches use SQL and
+     * retry the load in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        synchronized (searchIndex) {
+            if (searchIndex.isReady()) {
+                return;
+            }
+            try {
+                streamingJdbcTemplate.query("SELECT id, title, description, created_by, visibility FROM entries", rs -> {
+                    String visibility = rs.getString("visibility");
+                    searchIndex.put(rs.getLong("id"), rs.getString("created_by"),
+                            visibility == null ? null : Visibility.valueOf(visibility),
+                            rs.getString("title"), rs.getString("description"));
+                });
+                searchIndex.markReady();
+            } catch (DataAccessException e) {
+                log.warn("Entry search index not built, falling back to SQL search: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts loading the search index on another thread, unless a load is already running.
+     */
+    private void retrySearchIndex() {
+        if (searchIndexLoading.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    buildSearchIndex();
+                } finally {
+                    searchIndexLoading.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Bumps the list versions of whoever can currently see the entry, using the owner and visibility
+     * kept in the search index. Until the index is loaded, every list version is bumped instead.
+     */
+    private void entryChanged(long id) {
+        TrigramIndex.Doc doc = searchIndex.get(id);
+        if (doc == null) {
+            listVersions.invalidateAll();
+        } else {
+            listVersions.changed(doc.owner(), doc.visibility() == Visibility.PUBLIC);
+        }
+    }
+
+    /**
+     * Re-reads written entries into the public feed (after the write commits).
+     */
+    private void refreshFeed(List<Long> ids) {
+        publicFeed.refresh(ids, this::findJoinedByIds);
+    }
+
+    /**
+     * Adds or refreshes an entry in the search index (after the write commits).
+     */
+    private void indexEntry(Entry entry) {
+        long id = entry.getId();
+        String owner = entry.getCreatedBy();
+        Visibility visibility = entry.getVisibility();
+        String title = entry.getTitle();
+        String description = entry.getDescription();
+        AfterCommit.run(() -> searchIndex.put(id, owner, visibility, title, description));
+    }
+
+    /**
+     * Removes deleted entries from the search index (after the delete commits).
+     */
+    private void unindexEntries(List<Long> ids) {
+        AfterCommit.run(() -> ids.forEach(searchIndex::remove));
+    }
+
+    /**
+     * Loads the entries (with their groups) for the given ids, in id order.
+     * Every chunk is mapped by the same mapper, so entries of one group share one EntryGroup across chunks.
+     */
+    private List<Entry> findJoinedByIds(List<Long> ids) {
+        EntryRowMapper mapper = new EntryRowMapper();
+        List<Entry> entries = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST, ids.size()));
+            entries.addAll(jdbcTemplate.query(JOINED_SELECT + " WHERE e.id IN (" + placeholders(chunk.size()) + ") ORDER BY e.id",
+                    mapper, chunk.toArray()));
+        }
+        return entries;
     }
 }
@@ -3,19 +3,43 @@ package org.example.daos;
 
 // Required imports
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
 
+import org.example.models.CacheStats;                       // Counters reported for the group list cache
 import org.example.models.EntryGroup;                       // EntryGroup model class
 import org.example.models.EntryGroup.Visibility;           // Visibility enum for EntryGroup
+import org.example.services.AfterCommit;                   // Defers cache changes until the write commits
+import org.example.services.ListVersions;                  // Change counters behind the list ETags
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;         // JDBC helper class
 import org.springframework.jdbc.core.RowMapper;            // Interface to map rows of ResultSet
 import org.springframework.jdbc.support.GeneratedKeyHolder; // Captures auto-generated keys (e.g., IDs)
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * DAO (Data Access Object) for performing CRUD operations on entry_groups table.
@@ -23,12 +47,64 @@ import org.springframework.stereotype.Component;
 @Component
 public class EntryGroupDao {
 
+	private static final Logger log = LoggerFactory.getLogger(EntryGroupDao.class);
+
+	// Largest number of ids bound into one "id IN (...)" lookup
+	private static final int MAX_IN_LIST = 1000;
+
+	// Largest number of groups accepted by saveAll
+	public static final int MAX_BATCH_SIZE = 500;
+
+	// Insert used by save and saveAll for groups without an id
+	private static final String INSERT_GROUP =
+			"INSERT INTO entry_groups (name, description, visibility, created_by) VALUES (?, ?, ?, ?)";
+
 	// JdbcTemplate for executing SQL queries
 	private final JdbcTemplate jdbcTemplate;
 
-	// Constructor that initializes JdbcTemplate using a DataSource
-	public EntryGroupDao(DataSource dataSource) {
+	// Trigram index over group names for substring search
+	private final TrigramIndex searchIndex = new TrigramIndex(1);
+
+	// Set while a background load of the search index is running
+	private final AtomicBoolean searchIndexLoading = new AtomicBoolean();
+
+	/**
+	 * Key of a cached group list: the owner (null for the admin view of all groups), the search term and
+	 * the owner's list version when the load started. A load that read the rows before a write committed
+	 * is stored under the old version, so it cannot be served after the write, however late it finishes.
+	 */
+	private record GroupListKey(String owner, String search, long version) {
+	}
+
+	// Read-through cache of group lists, evicted by size and age and invalidated by every write
+	private final Cache<GroupListKey, List<EntryGroup>> groupLists;
+
+	// Change counters behind the list ETags, bumped by every write
+	private final ListVersions listVersions;
+
+	// Public entries snapshot, which embeds each entry's group
+	private final PublicEntryFeed publicEntryFeed;
+
+	/**
+	 * Constructor that initializes JdbcTemplate using a DataSource and sets up the group list cache.
+	 *
+	 * @param dataSource      The database connection source.
+	 * @param listVersions    Change counters behind the list ETags.
+	 * @param publicEntryFeed Public entries snapshot, dropped when a group changes.
+	 * @param maxSize         Maximum number of cached group lists.
+	 * @param ttl             How long a group list stays cached after it was loaded.
+	 */
+	public EntryGroupDao(DataSource dataSource, ListVersions listVersions, PublicEntryFeed publicEntryFeed,
+			@Value("${group-cache.max-size:10000}") long maxSize,
+			@Value("${group-cache.ttl:PT1M}") Duration ttl) {
 		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.listVersions = listVersions;
+		this.publicEntryFeed = publicEntryFeed;
+		this.groupLists = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
 	}
 
 	// RowMapper to convert ResultSet rows into EntryGroup objects
@@ -39,6 +115,7 @@ public class EntryGroupDao {
 		group.setDescription(rs.getString("description"));
 		group.setVisibility(Visibility.valueOf(rs.getString("visibility")));
 		group.setCreatedBy(rs.getString("created_by"));
+		group.setVersion(rs.getInt("version"));
 		return group;
 	};
 
@@ -49,6 +126,18 @@ public class EntryGroupDao {
 	 * @return List of EntryGroup objects.
 	 */
 	public List<EntryGroup> getAll(String search) {
+		return groupLists.get(new GroupListKey(null, normalize(search), listVersions.version(null)), key -> List.copyOf(loadAll(search)));
+	}
+
+	/**
+	 * Loads all entry groups from the index or the database (cache miss of getAll).
+	 */
+	private List<EntryGroup> loadAll(String search) {
+		// Answer name searches from the trigram index when possible
+		if (canUseIndex(search)) {
+			return findByIds(searchIndex.search(0, search, null, false), search, null);
+		}
+
 		StringBuilder sql = new StringBuilder("SELECT * FROM entry_groups");
 		List<Object> params = new ArrayList<>();
 
@@ -70,6 +159,18 @@ public class EntryGroupDao {
 	 * @return List of EntryGroup objects.
 	 */
 	public List<EntryGroup> getByUserId(String userName, String search) {
+		return groupLists.get(new GroupListKey(userName, normalize(search), listVersions.version(userName)), key -> List.copyOf(loadByUserId(userName, search)));
+	}
+
+	/**
+	 * Loads a user's entry groups from the index or the database (cache miss of getByUserId).
+	 */
+	private List<EntryGroup> loadByUserId(String userName, String search) {
+		// Answer name searches from the trigram index when possible, looking only at this user's groups
+		if (canUseIndex(search)) {
+			return findByIds(searchIndex.search(0, search, userName, true), search, userName);
+		}
+
 		StringBuilder sql = new StringBuilder("SELECT * FROM entry_groups WHERE created_by = ?");
 		List<Object> params = new ArrayList<>();
 		params.add(userName);
@@ -95,42 +196,351 @@ public class EntryGroupDao {
 
 		// Execute insert query and capture generated ID
 		jdbcTemplate.update(connection -> {
-			PreparedStatement ps = connection.prepareStatement(
-					"INSERT INTO entry_groups (name, description, visibility, created_by) VALUES (?, ?, ?, ?)",
-					Statement.RETURN_GENERATED_KEYS);
-			ps.setString(1, group.getName());
-			ps.setString(2, group.getDescription());
-			ps.setString(3, group.getVisibility().name());
-			ps.setString(4, group.getCreatedBy());
+			PreparedStatement ps = connection.prepareStatement(INSERT_GROUP, Statement.RETURN_GENERATED_KEYS);
+			setInsertParams(ps, group, 1);
 			return ps;
 		}, keyHolder);
 
 		// Retrieve and return the inserted group
 		Long id = keyHolder.getKey().longValue();
-		return jdbcTemplate.queryForObject("SELECT * FROM entry_groups WHERE id = ?", rowMapper, id);
+		EntryGroup saved = jdbcTemplate.queryForObject("SELECT * FROM entry_groups WHERE id = ?", rowMapper, id);
+		indexGroup(saved);
+		invalidateGroupLists(saved.getCreatedBy());
+		// A new group has no entries yet, so only the owner's group list changes
+		listVersions.changed(saved.getCreatedBy(), false);
+		return saved;
 	}
 
 	/**
-	 * Deletes an entry group by its ID.
+	 * Saves several entry groups in one transaction, batching the inserts.
+	 * Groups that carry an id are restored under it, which is only allowed for a group that was deleted
+	 * (see deleteById) and belonged to the caller, or to anyone if the caller is an admin; a restored group
+	 * gets back its original creator. The others get a generated id. No row is selected back; every saved
+	 * group has version 0.
+	 *
+	 * @param groups  EntryGroup objects to be saved, created by the caller.
+	 * @param isAdmin Whether the caller may restore any user's deleted groups.
+	 * @return The saved groups with their ids, in the same order.
+	 * @throws IllegalArgumentException if a given id is not a deleted group the caller may restore.
+	 * @throws org.springframework.dao.DuplicateKeyException if a given id is already in use.
+	 */
+	@Transactional
+	public List<EntryGroup> saveAll(List<EntryGroup> groups, boolean isAdmin) {
+		List<EntryGroup> restored = groups.stream().filter(g -> g.getId() != null).toList();
+		List<EntryGroup> created = groups.stream().filter(g -> g.getId() == null).toList();
+
+		// Restored groups already know their id, so a plain batch is enough
+		if (!restored.isEmpty()) {
+			claimDeleted(restored, isAdmin);
+			jdbcTemplate.batchUpdate(
+					"INSERT INTO entry_groups (id, name, description, visibility, created_by) VALUES (?, ?, ?, ?, ?)",
+					restored, restored.size(), (ps, group) -> {
+						ps.setLong(1, group.getId());
+						setInsertParams(ps, group, 2);
+					});
+		}
+
+		// New groups take their ids from the batch's generated keys
+		if (!created.isEmpty()) {
+			KeyHolder keyHolder = new GeneratedKeyHolder();
+			jdbcTemplate.batchUpdate(
+					connection -> connection.prepareStatement(INSERT_GROUP, Statement.RETURN_GENERATED_KEYS),
+					new BatchPreparedStatementSetter() {
+						@Override
+						public void setValues(PreparedStatement ps, int i) throws SQLException {
+							setInsertParams(ps, created.get(i), 1);
+						}
+
+						@Override
+						public int getBatchSize() {
+							return created.size();
+						}
+					},
+					keyHolder);
+
+			List<Map<String, Object>> keys = keyHolder.getKeyList();
+			if (keys.size() != created.size()) {
+				throw new IllegalStateException("Expected " + created.size() + " generated keys but got " + keys.size());
+			}
+			for (int i = 0; i < created.size(); i++) {
+				created.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+			}
+		}
+
+		// Inserted rows start at the column default, version 0
+		groups.forEach(group -> group.setVersion(0));
+		groups.forEach(this::indexGroup);
+		groups.stream().map(EntryGroup::getCreatedBy).distinct().forEach(owner -> {
+			invalidateGroupLists(owner);
+			listVersions.changed(owner, false);
+		});
+		return groups;
+	}
+
+	/**
+	 * Checks that every group being restored was deleted and may be restored by the caller, gives it back
+	 * its original creator and removes its deletion record, so the id cannot be restored twice.
+	 * Ids that were never handed out, or are still in use, have no deletion record and are refused.
+	 */
+	private void claimDeleted(List<EntryGroup> restored, boolean isAdmin) {
+		List<Object> ids = restored.stream().<Object>map(EntryGroup::getId).toList();
+		String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+		Map<Long, String> owners = new HashMap<>();
+		// Locked, so two restores of the same id cannot both pass the check
+		jdbcTemplate.query("SELECT id, created_by FROM deleted_entry_groups WHERE id IN (" + placeholders + ") FOR UPDATE",
+				rs -> {
+					owners.put(rs.getLong("id"), rs.getString("created_by"));
+				}, ids.toArray());
+
+		for (EntryGroup group : restored) {
+			String owner = owners.get(group.getId());
+			if (owner == null || !(isAdmin || owner.equals(group.getCreatedBy()))) {
+				throw new IllegalArgumentException("Group " + group.getId() + " is not a deleted group you can restore");
+			}
+			group.setCreatedBy(owner);
+		}
+		jdbcTemplate.update("DELETE FROM deleted_entry_groups WHERE id IN (" + placeholders + ")", ids.toArray());
+	}
+
+	/**
+	 * Binds a group's name, description, visibility and creator, starting at the given parameter index.
+	 */
+	private static void setInsertParams(PreparedStatement ps, EntryGroup group, int first) throws SQLException {
+		ps.setString(first, group.getName());
+		ps.setString(first + 1, group.getDescription());
+		ps.setString(first + 2, group.getVisibility().name());
+		ps.setString(first + 3, group.getCreatedBy());
+	}
+
+	/**
+	 * Retrieves a single entry group by its ID.
+	 *
+	 * @param id The ID of the group.
+	 * @return The group, or empty if it does not exist.
+	 */
+	public Optional<EntryGroup> findById(Long id) {
+		List<EntryGroup> groups = jdbcTemplate.query("SELECT * FROM entry_groups WHERE id = ?", rowMapper, id);
+		return groups.isEmpty() ? Optional.empty() : Optional.of(groups.get(0));
+	}
+
+	/**
+	 * Deletes an entry group by its ID, recording the deletion so that its owner can restore it
+	 * under the same id (see saveAll).
 	 *
 	 * @param id The ID of the group to be deleted.
 	 */
+	@Transactional
 	public void deleteById(Long id) {
+		// Look up the owner first, so only their cached lists are dropped
+		List<String> owners = jdbcTemplate.queryForList("SELECT created_by FROM entry_groups WHERE id = ?", String.class, id);
+		owners.stream().filter(owner -> owner != null).forEach(owner -> jdbcTemplate.update(
+				"INSERT INTO deleted_entry_groups (id, created_by) VALUES (?, ?) "
+						+ "ON DUPLICATE KEY UPDATE created_by = VALUES(created_by), deleted_at = CURRENT_TIMESTAMP",
+				id, owner));
 		jdbcTemplate.update("DELETE FROM entry_groups WHERE id = ?", id);
+		AfterCommit.run(() -> searchIndex.remove(id));
+		owners.forEach(this::invalidateGroupLists);
+		// Entry lists embed the group, and any user's entries can be in it
+		listVersions.invalidateAll();
+		publicEntryFeed.invalidate();
 	}
 
 	/**
-	 * Updates an existing entry group and returns the updated object.
+	 * Updates an existing entry group, provided nobody else updated it first (optimistic versioning).
+	 * This is a single UPDATE that only applies if the stored version still matches; without a version it
+	 * compares the column with itself, so the group is overwritten by the same atomic statement, which still
+	 * bumps the version. The number of affected rows tells success from a stale version or a missing group,
+	 * and the new version comes back with the statement (LAST_INSERT_ID(expr) is returned like a generated key),
+	 * so the result is built from the given values instead of selecting the row again.
 	 *
-	 * @param entry EntryGroup object with updated values.
-	 * @return The updated EntryGroup.
+	 * @param group EntryGroup object with updated values. A null version overwrites whatever is stored.
+	 * @return The updated EntryGroup with its new version, or empty if there is no group with that id.
+	 * @throws OptimisticLockingFailureException if the group was changed since the given version was read.
 	 */
-	public EntryGroup update(EntryGroup entry) {
-		// Update the row in the database
-		jdbcTemplate.update("UPDATE entry_groups SET name = ?, description = ?, visibility = ? WHERE id = ?",
-				entry.getName(), entry.getDescription(), entry.getVisibility().name(), entry.getId());
+	public Optional<EntryGroup> update(EntryGroup group) {
+		String expectedVersion = group.getVersion() != null ? "?" : "version";
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		int updated = jdbcTemplate.update(connection -> {
+			PreparedStatement ps = connection.prepareStatement(
+					"UPDATE entry_groups SET name = ?, description = ?, visibility = ?, version = LAST_INSERT_ID(version + 1) " +
+					"WHERE id = ? AND version = " + expectedVersion,
+					Statement.RETURN_GENERATED_KEYS);
+			ps.setString(1, group.getName());
+			ps.setString(2, group.getDescription());
+			ps.setString(3, group.getVisibility().name());
+			ps.setLong(4, group.getId());
+			if (group.getVersion() != null) {
+				ps.setInt(5, group.getVersion());
+			}
+			return ps;
+		}, keyHolder);
+		if (updated == 0) {
+			// Only on failure: find out whether the group is gone or was changed by someone else
+			if (group.getVersion() == null || findById(group.getId()).isEmpty()) {
+				return Optional.empty();
+			}
+			throw new OptimisticLockingFailureException(
+					"Group " + group.getId() + " was changed by someone else; reload it and try again");
+		}
+
+		EntryGroup result = new EntryGroup();
+		result.setId(group.getId());
+		result.setName(group.getName());
+		result.setDescription(group.getDescription());
+		result.setVisibility(group.getVisibility());
+		result.setCreatedBy(ownerOf(group.getId()));
+		result.setVersion(keyHolder.getKey().intValue());
+
+		indexGroup(result);
+		invalidateGroupLists(result.getCreatedBy());
+		// Entry lists embed the group, and any user's entries can be in it
+		listVersions.invalidateAll();
+		publicEntryFeed.invalidate();
+		return Optional.of(result);
+	}
+
+	/**
+	 * Returns a group's creator, from the search index when it has the group, otherwise from the database.
+	 */
+	private String ownerOf(Long id) {
+		TrigramIndex.Doc doc = searchIndex.get(id);
+		if (doc != null) {
+			return doc.owner();
+		}
+		List<String> owners = jdbcTemplate.queryForList("SELECT created_by FROM entry_groups WHERE id = ?", String.class, id);
+		return owners.isEmpty() ? null : owners.get(0);
+	}
 
-		// Fetch and return the updated group
-		return jdbcTemplate.queryForObject("SELECT * FROM entry_groups WHERE id = ?", rowMapper, entry.getId());
+	/**
+	 * Drops every cached group list, together with the list ETags and the public entries snapshot
+	 * that embed groups. Call after groups are written outside this DAO.
+	 */
+	public void clearCache() {
+		groupLists.invalidateAll();
+		listVersions.invalidateAll();
+		publicEntryFeed.invalidate();
+	}
+
+	/**
+	 * Returns the group list cache's hit/miss, eviction and load time counters.
+	 */
+	public CacheStats cacheStats() {
+		com.github.benmanes.caffeine.cache.stats.CacheStats stats = groupLists.stats();
+		return new CacheStats(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+				stats.averageLoadPenalty() / 1_000_000.0, groupLists.estimatedSize());
+	}
+
+	/**
+	 * Discards the search index and reloads it from the database.
+	 * Call after groups are written outside this DAO (e.g. a bulk SQL import).
+	 */
+	public void rebuildSearchIndex() {
+		synchronized (searchIndex) {
+			searchIndex.clear();
+			buildSearchIndex();
+		}
+	}
+
+	/**
+	 * Loads every group into the search index. Runs once the application has started, so no request
+	 * waits for it; until it is loaded (or if the table is not available yet) searches use SQL and
+	 * retry the load in the background.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildSearchIndex() {
+		synchronized (searchIndex) {
+			if (searchIndex.isReady()) {
+				return;
+			}
+			try {
+				jdbcTemplate.query("SELECT id, name, created_by, visibility FROM entry_groups", rs -> {
+					String visibility = rs.getString("visibility");
+					searchIndex.put(rs.getLong("id"), rs.getString("created_by"),
+							visibility == null ? null : Visibility.valueOf(visibility), rs.getString("name"));
+				});
+				searchIndex.markReady();
+			} catch (DataAccessException e) {
+				log.warn("Group search index not built, falling back to SQL search: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Starts loading the search index on another thread, unless a load is already running.
+	 */
+	private void retrySearchIndex() {
+		if (searchIndexLoading.compareAndSet(false, true)) {
+			CompletableFuture.runAsync(() -> {
+				try {
+					buildSearchIndex();
+				} finally {
+					searchIndexLoading.set(false);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Whether a name search can be answered from the index (starting a load in the background if it is not).
+	 */
+	private boolean canUseIndex(String search) {
+		if (search == null || search.trim().isEmpty()) {
+			return false;
+		}
+		if (!searchIndex.isReady()) {
+			retrySearchIndex();
+		}
+		return searchIndex.canAnswer(search);
+	}
+
+	/**
+	 * Drops the cached lists a write to one of the owner's groups can change:
+	 * the owner's own lists and the admin view of all groups. Their keys carry the version from before
+	 * the write, so they would not be looked up again anyway; this only frees the space early.
+	 * Inside a transaction this happens once it commits, like the list version change that goes with it.
+	 */
+	private void invalidateGroupLists(String owner) {
+		AfterCommit.run(() -> groupLists.asMap().keySet().removeIf(key -> key.owner() == null || key.owner().equals(owner)));
+	}
+
+	/**
+	 * Cache key form of a search term: no search and a blank search return the same list.
+	 */
+	private static String normalize(String search) {
+		return search == null || search.trim().isEmpty() ? "" : search;
+	}
+
+	/**
+	 * Adds or refreshes a group in the search index (after the write commits).
+	 */
+	private void indexGroup(EntryGroup group) {
+		long id = group.getId();
+		String owner = group.getCreatedBy();
+		Visibility visibility = group.getVisibility();
+		String name = group.getName();
+		AfterCommit.run(() -> searchIndex.put(id, owner, visibility, name));
+	}
+
+	/**
+	 * Loads the groups with the given ids, re-checking each row as loaded in case it
+	 * changed outside this DAO since it was indexed.
+	 *
+	 * @param ids    Candidate ids from the index.
+	 * @param search The search term the candidates must still match.
+	 * @param owner  Required creator, or null for any.
+	 */
+	private List<EntryGroup> findByIds(List<Long> ids, String search, String owner) {
+		String needle = search.toLowerCase(Locale.ROOT);
+		List<EntryGroup> groups = new ArrayList<>();
+		for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+			List<Long> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST, ids.size()));
+			String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+			groups.addAll(jdbcTemplate.query("SELECT * FROM entry_groups WHERE id IN (" + placeholders + ") ORDER BY id",
+					rowMapper, chunk.toArray()));
+		}
+		return groups.stream()
+				.filter(g -> owner == null || owner.equals(g.getCreatedBy()))
+				.filter(g -> g.getName() != null && g.getName().toLowerCase(Locale.ROOT).contains(needle))
+				.toList();
 	}
 }
@@ -0,0 +1,135 @@
+// Package declaration
+package org.example.daos;
+
+// Required imports
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.example.models.Entry;                     // Entry model class
+import org.example.models.Entry.EntryType;           // Entry type enum
+import org.example.models.EntryGroup;                // Group embedded in each entry
+import org.example.models.EntryGroup.Visibility;     // Visibility enum
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Maps rows produced by EntryDao.JOINED_SELECT (an entry plus its group) to entries.
+ *
+ * Column indexes are looked up once per result set rather than by name on every row, and
+ * entries of the same group share one EntryGroup: its columns are only read for the first
+ * entry of each group, so a large result holds one group object per group, not per row.
+ * The shared groups must not be modified.
+ *
+ * Keeps state for the result sets being mapped, so each call needs its own instance; a call that reads
+ * its rows in several queries (such as one per chunk of ids) can map them all with the same one.
+ */
+final class EntryRowMapper implements RowMapper<Entry> {
+
+    // Enum constants, scanned by name (see lookup)
+    private static final EntryType[] TYPES = EntryType.values();
+    private static final Visibility[] VISIBILITIES = Visibility.values();
+
+    // Result set the column indexes below belong to
+    private ResultSet resolved;
+
+    // Column indexes in the resolved result set
+    private int entryId;
+    private int title;
+    private int type;
+    private int description;
+    private int visibility;
+    private int date;
+    private int createdBy;
+    private int version;
+    private int groupId;
+    private int groupName;
+    private int groupDescription;
+    private int groupVisibility;
+    private int groupCreatedBy;
+
+    // Groups mapped so far by this mapper, by id
+    private final Map<Long, EntryGroup> groups = new HashMap<>();
+
+    @Override
+    public Entry mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (rs != resolved) {
+            resolve(rs);
+        }
+
+        Entry entry = new Entry();
+        entry.setId(rs.getLong(entryId));
+        entry.setTitle(rs.getString(title));
+        entry.setType(type(rs.getString(type)));
+        entry.setDescription(rs.getString(description));
+        entry.setVisibility(visibility(rs.getString(visibility)));
+        entry.setDate(rs.getDate(date));
+        entry.setCreatedBy(rs.getString(createdBy));
+        entry.setVersion(rs.getInt(version));
+
+        long id = rs.getLong(groupId);
+        EntryGroup group = groups.get(id);
+        if (group == null) {
+            group = new EntryGroup();
+            group.setId(id);
+            group.setName(rs.getString(groupName));
+            group.setDescription(rs.getString(groupDescription));
+            group.setVisibility(visibility(rs.getString(groupVisibility)));
+            group.setCreatedBy(rs.getString(groupCreatedBy));
+            groups.put(id, group);
+        }
+
+        entry.setGroup(group);
+        return entry;
+    }
+
+    /**
+     * Looks up the column indexes of a new result set. Groups already mapped are kept, as they are the same rows.
+     */
+    private void resolve(ResultSet rs) throws SQLException {
+        entryId = rs.findColumn("entry_id");
+        title = rs.findColumn("title");
+        type = rs.findColumn("type");
+        description = rs.findColumn("description");
+        visibility = rs.findColumn("visibility");
+        date = rs.findColumn("date");
+        createdBy = rs.findColumn("created_by");
+        version = rs.findColumn("version");
+        groupId = rs.findColumn("group_id");
+        groupName = rs.findColumn("group_name");
+        groupDescription = rs.findColumn("group_description");
+        groupVisibility = rs.findColumn("group_visibility");
+        groupCreatedBy = rs.findColumn("group_created_by");
+        resolved = rs;
+    }
+
+    /**
+     * Returns the entry type stored as the given name, or null for NULL.
+     */
+    static EntryType type(String name) {
+        return lookup(TYPES, name);
+    }
+
+    /**
+     * Returns the visibility stored as the given name, or null for NULL.
+     */
+    static Visibility visibility(String name) {
+        return lookup(VISIBILITIES, name);
+    }
+
+    /**
+     * Finds the constant with the given name. With a handful of constants, comparing the names
+     * (which mostly differ in length) is cheaper than hashing each freshly read string as valueOf does.
+     */
+    private static <E extends Enum<E>> E lookup(E[] constants, String name) {
+        if (name == null) {
+            return null;
+        }
+        for (E constant : constants) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No " + constants.getClass().getComponentType().getSimpleName() + " named " + name);
+    }
+}
@@ -0,0 +1,206 @@
+// Package declaration
+package org.example.daos;
+
+// Required imports
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.example.models.Entry;                     // Entry model class
+import org.example.models.EntryGroup.Visibility;     // Visibility enum
+import org.example.services.AfterCommit;             // Defers changes until the write commits
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared, in-memory snapshot of every public entry (with its group), in id order.
+ * Every user's entry list contains the same public entries, so they are loaded once per change
+ * instead of once per request, and each request only queries the user's own private entries.
+ *
+ * The snapshot is immutable and replaced on every change (copy-on-write): readers never lock,
+ * and a list that was handed out never changes. Entry writes refresh just the written rows;
+ * writes with a wider effect (a renamed or deleted group, a deleted user) drop the snapshot,
+ * and the next read loads it again. Changes are applied after the write commits.
+ *
+ * So that a write does not copy every public entry, the snapshot is split into segments of
+ * SEGMENT_SIZE consecutive ids. A refresh copies only the segments holding the written ids, plus the
+ * segment directory (one reference per segment), and the list handed out is a view over the segments.
+ * The price is on the read side: indexing into the view is a binary search over the segments
+ * instead of an array access.
+ */
+@Component
+public class PublicEntryFeed {
+
+    // Ids per segment (a power of two)
+    static final int SEGMENT_SIZE = 256;
+
+    // Current public entries, by segment (id / SEGMENT_SIZE) and in id order within each one,
+    // or null until the next read loads them. Empty segments are left out.
+    private volatile TreeMap<Long, List<Entry>> segments;
+
+    // The same entries as an unmodifiable list, in id order
+    private volatile List<Entry> entries;
+
+    // Serializes loads and changes. A lock rather than synchronized, so a virtual thread waiting
+    // on the database inside it does not pin its carrier thread.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Returns every public entry in id order, loading the snapshot first if it was dropped.
+     * The entries are shared between requests and must not be modified.
+     *
+     * @param loader Loads every public entry with its group.
+     */
+    public List<Entry> get(Supplier<List<Entry>> loader) {
+        List<Entry> current = entries;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (entries == null) {
+                Map<Long, TreeMap<Long, Entry>> loaded = new HashMap<>();
+                for (Entry entry : loader.get()) {
+                    loaded.computeIfAbsent(segmentOf(entry.getId()), key -> new TreeMap<>()).put(entry.getId(), entry);
+                }
+                publish(new TreeMap<>(), loaded);
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads the given entries once the current write commits: public ones are added or replaced,
+     * the rest (private or deleted) are removed. No-op while the snapshot is dropped.
+     *
+     * @param ids    The written entry ids.
+     * @param loader Loads the entries with the given ids, with their groups.
+     */
+    public void refresh(Collection<Long> ids, Function<List<Long>, List<Entry>> loader) {
+        List<Long> written = List.copyOf(ids);
+        AfterCommit.run(() -> {
+            // Reading under the lock makes the last committed write the last one applied
+            lock.lock();
+            try {
+                if (segments == null) {
+                    return;
+                }
+                // Only the segments holding a written id are copied
+                Map<Long, TreeMap<Long, Entry>> touched = new HashMap<>();
+                for (Long id : written) {
+                    touched.computeIfAbsent(segmentOf(id), this::copyOfSegment).remove(id);
+                }
+                for (Entry entry : loader.apply(written)) {
+                    if (entry.getVisibility() == Visibility.PUBLIC) {
+                        touched.computeIfAbsent(segmentOf(entry.getId()), this::copyOfSegment).put(entry.getId(), entry);
+                    }
+                }
+                publish(new TreeMap<>(segments), touched);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Drops the snapshot once the current write commits; the next read loads it again.
+     */
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            lock.lock();
+            try {
+                segments = null;
+                entries = null;
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Replaces the snapshot with the given segments, after putting in the changed ones; caller must hold the lock.
+     *
+     * @param updated Segments of the new snapshot, modified in place.
+     * @param changed New contents of the changed segments, by segment.
+     */
+    private void publish(TreeMap<Long, List<Entry>> updated, Map<Long, TreeMap<Long, Entry>> changed) {
+        changed.forEach((key, segment) -> {
+            if (segment.isEmpty()) {
+                updated.remove(key);
+            } else {
+                updated.put(key, List.copyOf(segment.values()));
+            }
+        });
+        segments = updated;
+        entries = new SegmentedList(List.copyOf(updated.values()));
+    }
+
+    /**
+     * Returns a modifiable copy of a current segment, by id; empty if there is none.
+     */
+    private TreeMap<Long, Entry> copyOfSegment(Long key) {
+        TreeMap<Long, Entry> copy = new TreeMap<>();
+        for (Entry entry : segments.getOrDefault(key, List.of())) {
+            copy.put(entry.getId(), entry);
+        }
+        return copy;
+    }
+
+    /**
+     * The segment an entry id belongs to.
+     */
+    private static long segmentOf(long id) {
+        return Math.floorDiv(id, SEGMENT_SIZE);
+    }
+
+    /**
+     * Unmodifiable list over non-empty segments, in order.
+     */
+    private static final class SegmentedList extends AbstractList<Entry> implements RandomAccess {
+
+        // The segments, each in id order
+        private final List<List<Entry>> segments;
+
+        // Index of each segment's first entry in the whole list, increasing
+        private final int[] starts;
+
+        private final int size;
+
+        SegmentedList(List<List<Entry>> segments) {
+            this.segments = segments;
+            this.starts = new int[segments.size()];
+            int total = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                starts[i] = total;
+                total += segments.get(i).size();
+            }
+            this.size = total;
+        }
+
+        @Override
+        public Entry get(int index) {
+            Objects.checkIndex(index, size);
+            int segment = Arrays.binarySearch(starts, index);
+            if (segment < 0) {
+                // Not a segment's first entry: it is in the segment before the insertion point
+                segment = -segment - 2;
+            }
+            return segments.get(segment).get(index - starts[segment]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+// Package declaration
+package org.example.daos;
+
+// Required imports
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.models.Entry;
+import org.example.models.EntryGroup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of entries over R2DBC, for the "reactive" profile.
+ * Entries are streamed newest first, one keyset page per query: the next page is only read once
+ * the subscriber has asked for more, and a connection is only held while a page is being read.
+ * Writes stay with the blocking EntryDao.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveEntryDao {
+
+    // Reactive counterpart of JdbcTemplate
+    private final DatabaseClient client;
+
+    // Rows read per query
+    private final int pageSize;
+
+    /**
+     * Constructor that initializes the DatabaseClient with the R2DBC ConnectionFactory.
+     *
+     * @param connectionFactory The R2DBC connection pool.
+     * @param pageSize          Rows read per query.
+     */
+    public ReactiveEntryDao(ConnectionFactory connectionFactory, @Value("${reactive.page-size:100}") int pageSize) {
+        this.client = DatabaseClient.create(connectionFactory);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Streams the entries visible to the user (every entry for admins, otherwise their own and public ones),
+     * newest first (by date, then id), each with its group.
+     *
+     * @param username The current user.
+     * @param isAdmin  Whether the current user is an admin.
+     */
+    public Flux<Entry> streamVisible(String username, boolean isAdmin) {
+        return readPage(username, isAdmin, null)
+            // A full page may have a successor; a short one is the last
+            .expand(page -> page.size() < pageSize ? Mono.empty() : readPage(username, isAdmin, page.get(page.size() - 1)))
+            // Ask for one page at a time, so only what the client is about to read is buffered
+            .concatMapIterable(page -> page, 1);
+    }
+
+    /**
+     * Reads the page of entries following the given one (or the first page).
+     */
+    private Mono<List<Entry>> readPage(String username, boolean isAdmin, Entry last) {
+        String keyset = last == null ? "" : EntryDao.AFTER_CURSOR;
+        List<Object> params = new ArrayList<>();
+        String sql;
+
+        if (isAdmin) {
+            sql = EntryDao.JOINED_SELECT + " WHERE 1=1" + keyset + EntryDao.NEWEST_FIRST;
+            addCursorParams(params, last);
+            params.add(pageSize);
+        } else {
+            // Same two-branch query as EntryDao.getPage, so each branch walks its own index
+            sql = "(" + EntryDao.JOINED_SELECT + " WHERE e.created_by = ?" + keyset + EntryDao.NEWEST_FIRST + ")"
+                + " UNION ALL "
+                + "(" + EntryDao.JOINED_SELECT + " WHERE e.visibility = 'PUBLIC' AND (e.created_by <> ? OR e.created_by IS NULL)"
+                + keyset + EntryDao.NEWEST_FIRST + ")"
+                + " ORDER BY date DESC, entry_id DESC LIMIT ?";
+            params.add(username);
+            addCursorParams(params, last);
+            params.add(pageSize);
+            params.add(username);
+            addCursorParams(params, last);
+            params.add(pageSize);
+            params.add(pageSize);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql);
+        for (int i = 0; i < params.size(); i++) {
+            spec = spec.bind(i, params.get(i));
+        }
+        return spec.map(ReactiveEntryDao::mapJoined).all().collectList();
+    }
+
+    /**
+     * Adds the bind values for AFTER_CURSOR (date, date, id) pointing just past the given entry, if any.
+     */
+    private static void addCursorParams(List<Object> params, Entry last) {
+        if (last != null) {
+            LocalDate date = ((java.sql.Date) last.getDate()).toLocalDate();
+            params.add(date);
+            params.add(date);
+            params.add(last.getId());
+        }
+    }
+
+    /**
+     * Maps a row produced by JOINED_SELECT (entry plus its embedded group).
+     */
+    private static Entry mapJoined(Readable row) {
+        Entry entry = new Entry();
+        entry.setId(row.get("entry_id", Long.class));
+        entry.setTitle(row.get("title", String.class));
+        entry.setType(EntryRowMapper.type(row.get("type", String.class)));
+        entry.setDescription(row.get("description", String.class));
+        entry.setVisibility(EntryRowMapper.visibility(row.get("visibility", String.class)));
+        entry.setDate(java.sql.Date.valueOf(row.get("date", LocalDate.class)));
+        entry.setCreatedBy(row.get("created_by", String.class));
+        entry.setVersion(row.get("version", Integer.class));
+
+        EntryGroup group = new EntryGroup();
+        group.setId(row.get("group_id", Long.class));
+        group.setName(row.get("group_name", String.class));
+        group.setDescription(row.get("group_description", String.class));
+        group.setVisibility(EntryRowMapper.visibility(row.get("group_visibility", String.class)));
+        group.setCreatedBy(row.get("group_created_by", String.class));
+
+        entry.setGroup(group);
+        return entry;
+    }
+}
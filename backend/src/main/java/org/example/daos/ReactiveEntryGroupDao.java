@@ -0,0 +1,99 @@
+// Package declaration
+package org.example.daos;
+
+// Required imports
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.models.EntryGroup;                       // EntryGroup model class
+import org.example.models.EntryGroup.Visibility;           // Visibility enum for EntryGroup
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;      // Reactive counterpart of JdbcTemplate
+import org.springframework.stereotype.Component;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of entry groups over R2DBC, for the "reactive" profile.
+ * Groups are streamed in id order, one keyset page per query, reading the next page only on demand.
+ * Writes (and the cached group lists) stay with the blocking EntryGroupDao.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveEntryGroupDao {
+
+	// Reactive counterpart of JdbcTemplate
+	private final DatabaseClient client;
+
+	// Rows read per query
+	private final int pageSize;
+
+	/**
+	 * Constructor that initializes the DatabaseClient with the R2DBC ConnectionFactory.
+	 *
+	 * @param connectionFactory The R2DBC connection pool.
+	 * @param pageSize          Rows read per query.
+	 */
+	public ReactiveEntryGroupDao(ConnectionFactory connectionFactory, @Value("${reactive.page-size:100}") int pageSize) {
+		this.client = DatabaseClient.create(connectionFactory);
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Streams entry groups in id order, optionally only one user's and/or filtered by a search term (case-insensitive).
+	 *
+	 * @param owner  Creator of the groups, or null for every group.
+	 * @param search Optional search keyword to filter by group name.
+	 */
+	public Flux<EntryGroup> stream(String owner, String search) {
+		return readPage(owner, search, 0L)
+				// A full page may have a successor; a short one is the last
+				.expand(page -> page.size() < pageSize ? Mono.empty() : readPage(owner, search, page.get(page.size() - 1).getId()))
+				// Ask for one page at a time, so only what the client is about to read is buffered
+				.concatMapIterable(page -> page, 1);
+	}
+
+	/**
+	 * Reads the page of groups with ids above the given one.
+	 */
+	private Mono<List<EntryGroup>> readPage(String owner, String search, long afterId) {
+		StringBuilder sql = new StringBuilder("SELECT * FROM entry_groups WHERE id > ?");
+		List<Object> params = new ArrayList<>();
+		params.add(afterId);
+
+		if (owner != null) {
+			sql.append(" AND created_by = ?");
+			params.add(owner);
+		}
+		if (search != null && !search.trim().isEmpty()) {
+			sql.append(" AND LOWER(name) LIKE ?");
+			params.add("%" + search.toLowerCase() + "%");
+		}
+		sql.append(" ORDER BY id LIMIT ?");
+		params.add(pageSize);
+
+		DatabaseClient.GenericExecuteSpec spec = client.sql(sql.toString());
+		for (int i = 0; i < params.size(); i++) {
+			spec = spec.bind(i, params.get(i));
+		}
+		return spec.map(ReactiveEntryGroupDao::mapGroup).all().collectList();
+	}
+
+	/**
+	 * Maps an entry_groups row to an EntryGroup.
+	 */
+	private static EntryGroup mapGroup(Readable row) {
+		EntryGroup group = new EntryGroup();
+		group.setId(row.get("id", Long.class));
+		group.setName(row.get("name", String.class));
+		group.setDescription(row.get("description", String.class));
+		group.setVisibility(Visibility.valueOf(row.get("visibility", String.class)));
+		group.setCreatedBy(row.get("created_by", String.class));
+		group.setVersion(row.get("version", Integer.class));
+		return group;
+	}
+}
@@ -0,0 +1,245 @@
+// Package declaration
+package org.example.daos;
+
+// Required imports
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.example.models.EntryGroup.Visibility;
+
+/**
+ * In-memory trigram index used by the DAOs to answer case-insensitive substring searches
+ * (the same matches as LOWER(col) LIKE '%q%') without scanning the table.
+ * Every indexed row keeps its owner and visibility, so a search only checks candidates
+ * the caller is allowed to see. Updated incrementally by the owning DAO on every write.
+ */
+class TrigramIndex {
+
+    // Shortest query the index can answer; shorter queries must fall back to SQL
+    static final int MIN_QUERY_LENGTH = 3;
+
+    /**
+     * One indexed row: its owner, visibility, and the lowercased text of each indexed field.
+     */
+    record Doc(String owner, Visibility visibility, String[] fields) {
+    }
+
+    // Indexed rows by id
+    private final Map<Long, Doc> docs = new HashMap<>();
+
+    // For each field, the ids of the rows containing each trigram
+    private final List<Map<String, Set<Long>>> postings = new ArrayList<>();
+
+    // Many concurrent searches, occasional writes
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Set once the initial load from the database has completed
+    private volatile boolean ready;
+
+    /**
+     * Creates an index over the given number of text fields per row.
+     *
+     * @param fieldCount Number of text fields indexed for each row.
+     */
+    TrigramIndex(int fieldCount) {
+        for (int i = 0; i < fieldCount; i++) {
+            postings.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Whether the initial load has completed, i.e. the index can answer searches.
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the initial load as complete.
+     */
+    void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Drops every row and marks the index as not ready until it is loaded again.
+     */
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            docs.clear();
+            for (Map<String, Set<Long>> fieldPostings : postings) {
+                fieldPostings.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index can answer a search for the given query.
+     * Short queries and queries containing LIKE wildcards must go to the database instead.
+     */
+    boolean canAnswer(String query) {
+        return ready && query.length() >= MIN_QUERY_LENGTH && query.indexOf('%') < 0 && query.indexOf('_') < 0;
+    }
+
+    /**
+     * Adds or replaces a row.
+     *
+     * @param id         Row id.
+     * @param owner      Username of the row's creator.
+     * @param visibility Row visibility (null is treated as private).
+     * @param texts      Text of each indexed field, in field order.
+     */
+    void put(long id, String owner, Visibility visibility, String... texts) {
+        String[] fields = new String[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            fields[i] = texts[i] == null ? "" : texts[i].toLowerCase(Locale.ROOT);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            docs.put(id, new Doc(owner, visibility, fields));
+            for (int f = 0; f < fields.length; f++) {
+                for (String gram : trigrams(fields[f])) {
+                    postings.get(f).computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a row (no-op if it is not indexed).
+     */
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed row with the given id, or null.
+     */
+    Doc get(long id) {
+        lock.readLock().lock();
+        try {
+            return docs.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of rows whose field contains the query (case-insensitive).
+     * Only callers' visible rows are considered: with a null user every row is visible;
+     * otherwise rows owned by the user, plus public rows unless ownOnly is set.
+     *
+     * @param field   Index of the field to search.
+     * @param query   Substring to look for; must satisfy canAnswer.
+     * @param user    The caller, or null for unrestricted (admin) searches.
+     * @param ownOnly Whether to ignore other users' public rows.
+     * @return Matching ids in ascending order.
+     */
+    List<Long> search(int field, String query, String user, boolean ownOnly) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<String> grams = new ArrayList<>(trigrams(needle));
+        List<Long> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            // Gather the posting sets, smallest first, so the scan below starts from the rarest trigram
+            List<Set<Long>> sets = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                Set<Long> ids = postings.get(field).get(gram);
+                if (ids == null) {
+                    return result;
+                }
+                sets.add(ids);
+            }
+            sets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            candidates:
+            for (Long id : sets.get(0)) {
+                Doc doc = docs.get(id);
+                if (!isVisible(doc, user, ownOnly)) {
+                    continue;
+                }
+                for (int i = 1; i < sets.size(); i++) {
+                    if (!sets.get(i).contains(id)) {
+                        continue candidates;
+                    }
+                }
+                // Trigrams can all match without the substring itself matching, so confirm it
+                if (doc.fields()[field].contains(needle)) {
+                    result.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        result.sort(null);
+        return result;
+    }
+
+    /**
+     * Whether the row is visible to the user under the given rule.
+     */
+    private static boolean isVisible(Doc doc, String user, boolean ownOnly) {
+        if (user == null) {
+            return true;
+        }
+        if (user.equals(doc.owner())) {
+            return true;
+        }
+        return !ownOnly && doc.visibility() == Visibility.PUBLIC;
+    }
+
+    /**
+     * Removes a row; caller must hold the write lock.
+     */
+    private void removeLocked(long id) {
+        Doc old = docs.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (int f = 0; f < old.fields().length; f++) {
+            Map<String, Set<Long>> fieldPostings = postings.get(f);
+            for (String gram : trigrams(old.fields()[f])) {
+                Set<Long> ids = fieldPostings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        fieldPostings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct three-character substrings of the (already lowercased) text.
+     */
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + MIN_QUERY_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -2,14 +2,20 @@
 package org.example.daos;
 
 // Required imports
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 import javax.sql.DataSource;
 
 import org.example.exceptions.DaoException;                // Custom exception for DAO failures
+import org.example.models.CursorPage;                      // One page of a keyset-paginated list
 import org.example.models.User;                            // User model class
+import org.example.services.PrincipalCache;                // Cache of authentication principals
+import org.example.services.RoleVersions;                  // Role versions used to revoke tokens
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;         // Spring's JDBC abstraction
@@ -27,63 +33,115 @@ public class UserDao {
      */
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * Largest page size accepted by getPage.
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Users joined with their roles: one row per (user, role), or one row with a null role for users without roles.
+     */
+    private static final String USER_WITH_ROLES =
+        "SELECT u.username, u.password, r.role FROM users u LEFT JOIN roles r ON r.username = u.username";
+
     /**
      * Used to securely hash passwords before storing in the database.
      */
     private final PasswordEncoder passwordEncoder;
 
     /**
-     * Constructor to initialize JdbcTemplate and PasswordEncoder.
+     * Cache of authentication principals; a user's entry is dropped whenever their password or roles change.
+     */
+    private final PrincipalCache principalCache;
+
+    /**
+     * Role version per user; bumping it revokes the user's issued tokens.
+     */
+    private final RoleVersions roleVersions;
+
+    /**
+     * Group DAO, whose cached lists and list ETags are dropped when a user's rows lose their creator.
+     */
+    private final EntryGroupDao entryGroupDao;
+
+    /**
+     * Constructor to initialize JdbcTemplate, PasswordEncoder and the principal cache.
      *
      * @param dataSource      The database connection source.
      * @param passwordEncoder Password encoder for hashing user passwords.
+     * @param principalCache  Cache of authentication principals to keep in sync.
+     * @param roleVersions    Role versions, bumped to revoke tokens when a user's roles or password change.
+     * @param entryGroupDao   Group DAO, told when a deleted user's entries and groups lose their creator.
      */
-    public UserDao(DataSource dataSource, PasswordEncoder passwordEncoder) {
+    public UserDao(DataSource dataSource, PasswordEncoder passwordEncoder, PrincipalCache principalCache,
+                   RoleVersions roleVersions, EntryGroupDao entryGroupDao) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.roleVersions = roleVersions;
+        this.entryGroupDao = entryGroupDao;
     }
 
     /**
-     * Retrieves all users from the database and attaches their first role.
+     * Retrieves all users from the database with all their roles, in one query.
      *
      * @return List of User objects with roles.
      */
     public List<User> getUsers() {
-        List<User> users = jdbcTemplate.query("SELECT * FROM users ORDER BY username", this::mapToUser);
+        return queryUsers(USER_WITH_ROLES + " ORDER BY u.username");
+    }
 
-        // Attach the first role (if any) to each user
-        for (User user : users) {
-            List<String> roles = getRoles(user.getUsername());
-            if (!roles.isEmpty()) {
-                user.setRole(roles.get(0));
-            }
+    /**
+     * Retrieves one page of users (with their roles), ordered by username.
+     * The cursor is the last username of the previous page, so every page is a single index range scan.
+     *
+     * @param after  Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of users on the page (1 to MAX_PAGE_SIZE).
+     * @param prefix Optional username prefix to filter by.
+     * @return The page of users and the cursor for the next one.
+     * @throws IllegalArgumentException if the cursor or the limit is invalid.
+     */
+    public CursorPage<User> getPage(String after, int limit, String prefix) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
         }
 
-        return users;
+        StringBuilder page = new StringBuilder("SELECT username, password FROM users WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        if (after != null && !after.isBlank()) {
+            page.append(" AND username > ?");
+            params.add(decodeCursor(after));
+        }
+        if (prefix != null && !prefix.isEmpty()) {
+            page.append(" AND username LIKE ?");
+            params.add(escapeLike(prefix) + "%");
+        }
+        // Fetch one extra user to find out whether another page follows
+        page.append(" ORDER BY username LIMIT ?");
+        params.add(limit + 1);
+
+        List<User> users = queryUsers(
+            "SELECT u.username, u.password, r.role FROM (" + page + ") u " +
+            "LEFT JOIN roles r ON r.username = u.username ORDER BY u.username",
+            params.toArray());
+
+        String next = null;
+        if (users.size() > limit) {
+            users = new ArrayList<>(users.subList(0, limit));
+            next = encodeCursor(users.get(limit - 1).getUsername());
+        }
+        return new CursorPage<>(users, next);
     }
 
     /**
-     * Retrieves a single user by username.
+     * Retrieves a single user by username, with all their roles, in one query.
      *
      * @param username The username to search for.
      * @return User object or null if not found.
      */
     public User getUserByUsername(String username) {
-        try {
-            User user = jdbcTemplate.queryForObject(
-                "SELECT * FROM users WHERE username = ?", this::mapToUser, username
-            );
-
-            // Attach role if available
-            List<String> roles = getRoles(user.getUsername());
-            if (!roles.isEmpty()) {
-                user.setRole(roles.get(0));
-            }
-
-            return user;
-        } catch (EmptyResultDataAccessException e) {
-            return null; // User not found
-        }
+        List<User> users = queryUsers(USER_WITH_ROLES + " WHERE u.username = ?", username);
+        return users.isEmpty() ? null : users.get(0); // null if user not found
     }
 
     /**
@@ -115,6 +173,7 @@ public class UserDao {
         String hashedPassword = passwordEncoder.encode(user.getPassword());
         String sql = "UPDATE users SET password = ? WHERE username = ?";
         int rowsAffected = jdbcTemplate.update(sql, hashedPassword, user.getUsername());
+        credentialsChanged(user.getUsername());
 
         if (rowsAffected == 0) {
             throw new DaoException("Zero rows affected, expected at least one.");
@@ -123,6 +182,19 @@ public class UserDao {
         return getUserByUsername(user.getUsername());
     }
 
+    /**
+     * Stores an already hashed password (used when a login rehashes an outdated hash).
+     *
+     * @param username       The user whose password hash is replaced.
+     * @param hashedPassword The new hash.
+     * @return Number of rows affected.
+     */
+    public int updatePasswordHash(String username, String hashedPassword) {
+        int rowsAffected = jdbcTemplate.update("UPDATE users SET password = ? WHERE username = ?", hashedPassword, username);
+        principalCache.invalidate(username);
+        return rowsAffected;
+    }
+
     /**
      * Deletes a user by username.
      *
@@ -131,7 +203,11 @@ public class UserDao {
      */
     public int deleteUser(String username) {
         String sql = "DELETE FROM users WHERE username = ?";
-        return jdbcTemplate.update(sql, username);
+        int rowsAffected = jdbcTemplate.update(sql, username);
+        credentialsChanged(username);
+        // The user's entries and groups now have no creator, which changes every list that shows them
+        entryGroupDao.clearCache();
+        return rowsAffected;
     }
 
     /**
@@ -160,6 +236,7 @@ public class UserDao {
         } catch (DataAccessException e) {
             // Swallow exception silently (not recommended—should ideally log or rethrow)
         }
+        credentialsChanged(username);
         return getRoles(username);
     }
 
@@ -172,7 +249,74 @@ public class UserDao {
      */
     public int deleteRole(String username, String role) {
         String sql = "DELETE FROM roles WHERE username = ? AND role = ?";
-        return jdbcTemplate.update(sql, username, role);
+        int rowsAffected = jdbcTemplate.update(sql, username, role);
+        credentialsChanged(username);
+        return rowsAffected;
+    }
+
+    /**
+     * Drops the user's cached principal and revokes the tokens issued to them,
+     * after their password or roles changed or the user was deleted.
+     */
+    private void credentialsChanged(String username) {
+        principalCache.invalidate(username);
+        roleVersions.bump(username);
+    }
+
+    /**
+     * Runs a query returning one row per (user, role) pair, ordered by username,
+     * and folds the rows into users with all their roles.
+     *
+     * @param sql    Query selecting username, password and role.
+     * @param params Query parameters.
+     * @return The users, in query order.
+     */
+    private List<User> queryUsers(String sql, Object... params) {
+        List<User> users = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            String username = rs.getString("username");
+            User user = users.isEmpty() ? null : users.get(users.size() - 1);
+            if (user == null || !user.getUsername().equals(username)) {
+                user = mapToUser(rs, users.size());
+                users.add(user);
+            }
+            String role = rs.getString("role");
+            if (role != null) {
+                user.getRoles().add(role);
+                // Keep the single role field filled with the first role, as before
+                if (user.getRole() == null) {
+                    user.setRole(role);
+                }
+            }
+        }, params);
+        return users;
+    }
+
+    /**
+     * Encodes a username as an opaque page cursor.
+     */
+    private static String encodeCursor(String username) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(username.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a page cursor back into a username.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Escapes LIKE wildcards so a prefix is matched literally.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     /**
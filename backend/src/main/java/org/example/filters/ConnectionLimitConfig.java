@@ -0,0 +1,43 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.example.services.ConnectionLimitingDataSource;      // Caps connections checked out at once
+import org.springframework.beans.factory.config.BeanPostProcessor; // Hook to wrap beans as they are created
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;                // Used to define Spring-managed beans
+import org.springframework.context.annotation.Configuration;       // Marks this class as a configuration class
+import org.springframework.core.env.Environment;                   // Access to application properties
+
+/**
+ * Configuration class that guards the connection pool with a semaphore.
+ * Only active when datasource.max-active-connections is set, as in the "virtual" profile,
+ * where requests run on virtual threads and nothing else limits how many reach the pool at once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.max-active-connections")
+public class ConnectionLimitConfig {
+
+    /**
+     * Wraps the DataSource in a ConnectionLimitingDataSource.
+     * Static, as bean post-processors must be created before regular beans.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource,
+                            environment.getRequiredProperty("datasource.max-active-connections", Integer.class),
+                            environment.getProperty("datasource.acquire-timeout", Duration.class, Duration.ofSeconds(5)));
+                }
+                return bean;
+            }
+        };
+    }
+}
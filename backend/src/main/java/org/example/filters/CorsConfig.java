@@ -30,7 +30,7 @@ public class CorsConfig {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**") // Apply CORS rules to all paths
                         .allowedOrigins("http://localhost:5173") // Allow requests from this frontend origin
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Allow common HTTP methods
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS") // Allow common HTTP methods
                         .allowedHeaders("*") // Allow all headers (Authorization, Content-Type, etc.)
                         .allowCredentials(true); // Allow sending cookies/auth headers (credentials)
             }
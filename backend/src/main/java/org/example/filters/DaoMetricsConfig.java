@@ -0,0 +1,83 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.example.daos.EntryDao;                              // DAOs whose methods are timed
+import org.example.daos.EntryGroupDao;
+import org.example.daos.UserDao;
+import org.example.services.DaoMetrics;                        // Records DAO method and SQL metrics
+import org.example.services.SqlMetricsDataSource;              // Reports each statement to DaoMetrics
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor; // Adds an advisor to matching beans
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor; // Hook to wrap beans as they are created
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;                // Used to define Spring-managed beans
+import org.springframework.context.annotation.Configuration;       // Marks this class as a configuration class
+import org.springframework.core.env.Environment;                   // Access to application properties
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration class that records latency, rows and round trips of the DAOs, per method and per SQL statement,
+ * in the Micrometer registry served by Actuator (/actuator/metrics on the management port).
+ * Active unless dao-metrics.enabled is false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dao-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class DaoMetricsConfig {
+
+    // DAOs whose public methods are timed
+    private static final Set<Class<?>> DAOS = Set.of(EntryDao.class, EntryGroupDao.class, UserDao.class);
+
+    /**
+     * Times the public methods of the DAOs, and wraps the DataSource in a SqlMetricsDataSource.
+     * Static, as bean post-processors must be created before regular beans;
+     * the registry is only looked up once the first meter is created.
+     */
+    @Bean
+    public static BeanPostProcessor daoMetricsPostProcessor(ObjectProvider<MeterRegistry> registry, Environment environment) {
+        DaoMetrics metrics = new DaoMetrics(registry::getObject,
+                environment.getProperty("dao-metrics.max-sql-templates", Integer.class, 200));
+        return new DaoMetricsPostProcessor(metrics);
+    }
+
+    /**
+     * Adds DaoMetrics ahead of any other advice (such as transactions) on the DAOs,
+     * so a method's time includes its commit, and wraps every DataSource.
+     */
+    private static class DaoMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        private final DaoMetrics metrics;
+
+        DaoMetricsPostProcessor(DaoMetrics metrics) {
+            this.metrics = metrics;
+            this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(DAOS::contains, new StaticMethodMatcher() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    // The DAO's own public methods, not those inherited from Object
+                    return Modifier.isPublic(method.getModifiers()) && DAOS.contains(method.getDeclaringClass());
+                }
+            }), metrics);
+            this.beforeExistingAdvisors = true;
+            // The DAOs are classes without interfaces
+            setProxyTargetClass(true);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof SqlMetricsDataSource)) {
+                return new SqlMetricsDataSource(dataSource, metrics);
+            }
+            return super.postProcessAfterInitialization(bean, beanName);
+        }
+    }
+}
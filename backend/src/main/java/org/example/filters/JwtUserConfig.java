@@ -0,0 +1,28 @@
+// Package declaration
+package org.example.filters;
+
+// Required Spring Framework imports
+import org.example.services.VersionedJwtUser;                  // JwtUser carrying the role version claim
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Bean;            // Used to define Spring-managed beans
+import org.springframework.context.annotation.Configuration;   // Marks this class as a configuration class
+import org.springframework.context.annotation.Scope;
+
+import eu.fraho.spring.securityJwt.base.dto.JwtUser;
+
+/**
+ * Configuration class that makes the JWT library parse tokens into VersionedJwtUser,
+ * so the role version claim is available on every authenticated request.
+ */
+@Configuration
+public class JwtUserConfig {
+
+    /**
+     * Replaces the library's default JwtUser prototype, which it uses to parse each token.
+     */
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public JwtUser jwtUser() {
+        return new VersionedJwtUser();
+    }
+}
@@ -0,0 +1,59 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import java.time.Duration;
+
+import org.example.services.CalibratedBCryptPasswordEncoder;    // BCrypt with a cost fitted to this machine
+import org.example.services.OffloadedPasswordEncoder;          // Runs hashing on the dedicated pool
+import org.example.services.PasswordHashingService;            // The dedicated hashing pool
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor; // Hook to wrap beans as they are created
+import org.springframework.context.annotation.Bean;                // Used to define Spring-managed beans
+import org.springframework.context.annotation.Configuration;       // Marks this class as a configuration class
+import org.springframework.core.env.Environment;                   // Access to application properties
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Configuration class for password hashing.
+ * The default BCrypt encoder is replaced by one whose cost is calibrated at startup, and
+ * every PasswordEncoder bean (the one used by UserDao and the one used for JWT login)
+ * is wrapped so its hashing runs on the bounded PasswordHashingService pool.
+ * The login provider is also given a password service, so outdated hashes are rehashed on login.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Swaps the default BCrypt encoder for a calibrated one and wraps PasswordEncoder beans
+     * in an OffloadedPasswordEncoder. Also lets the login provider rehash outdated passwords.
+     * Static, as bean post-processors must be created before regular beans.
+     */
+    @Bean
+    public static BeanPostProcessor passwordHashingPostProcessor(ObjectProvider<PasswordHashingService> hashingService,
+                                                             ObjectProvider<UserDetailsPasswordService> passwordService,
+                                                             Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof PasswordEncoder encoder && !(bean instanceof OffloadedPasswordEncoder)) {
+                    if (encoder instanceof BCryptPasswordEncoder) {
+                        encoder = CalibratedBCryptPasswordEncoder.calibrate(
+                                environment.getProperty("password-hashing.bcrypt.target-time", Duration.class, Duration.ofMillis(250)),
+                                environment.getProperty("password-hashing.bcrypt.min-cost", Integer.class, 10),
+                                environment.getProperty("password-hashing.bcrypt.max-cost", Integer.class, 16));
+                    }
+                    return new OffloadedPasswordEncoder(encoder, hashingService);
+                }
+                if (bean instanceof DaoAuthenticationProvider provider) {
+                    // After a successful login, hashes the encoder reports as outdated are replaced
+                    provider.setUserDetailsPasswordService(passwordService.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
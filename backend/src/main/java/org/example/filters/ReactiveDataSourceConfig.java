@@ -0,0 +1,42 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;   // Ordered among Spring Boot's own configuration
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties; // The spring.datasource.* properties
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;                // Used to define Spring-managed beans
+import org.springframework.context.annotation.Profile;             // Only active in the "reactive" profile
+
+import com.zaxxer.hikari.HikariDataSource;                         // The pool Spring Boot would have built
+
+/**
+ * Configuration class that keeps the JDBC DataSource in the "reactive" profile.
+ * Spring Boot leaves the DataSource out as soon as an R2DBC ConnectionFactory exists, but this application
+ * still does every write and most reads through JDBC, so it is built here the way Spring Boot would,
+ * from the spring.datasource.* properties. Listed as an auto-configuration so that it only applies
+ * when nothing else (such as the tests' embedded database) has defined a DataSource.
+ */
+@AutoConfiguration(after = DataSourceAutoConfiguration.class,
+        before = {DataSourceTransactionManagerAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataSourceConfig {
+
+    /**
+     * The Hikari pool configured by spring.datasource.* and spring.datasource.hikari.*.
+     */
+    @Bean
+    @ConditionalOnMissingBean(DataSource.class)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
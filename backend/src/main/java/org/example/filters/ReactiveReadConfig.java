@@ -0,0 +1,81 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import org.example.controllers.ReactiveReadController;             // The streaming handler functions
+import org.springframework.boot.web.servlet.ServletRegistrationBean; // Registers a servlet with the container
+import org.springframework.context.annotation.Bean;                // Used to define Spring-managed beans
+import org.springframework.context.annotation.Configuration;       // Marks this class as a configuration class
+import org.springframework.context.annotation.Profile;             // Only active in the "reactive" profile
+import org.springframework.http.HttpStatus;                        // HTTP status codes
+import org.springframework.http.codec.json.Jackson2JsonEncoder;    // Writes the JSON lines
+import org.springframework.http.server.reactive.HttpHandler;       // Reactive request handler
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter; // Runs it on servlet non-blocking I/O
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;           // Holds authentication info
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Configuration class that serves the streaming reads of the "reactive" profile under /api/reactive.
+ * Spring MVC would subscribe to a Flux and write each item with a blocking servlet write, holding an
+ * async thread for as long as the slowest client takes to read; this servlet instead writes only when
+ * the container reports the socket writable (WriteListener), and asks the stream for the next item
+ * after that, so a slow reader costs a connection and a page of rows but no thread.
+ * The regular security filter chain still runs in front of it.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveReadConfig {
+
+    // Servlet mapping of the streaming reads
+    static final String MAPPING = "/api/reactive/*";
+
+    /**
+     * Registers the handler functions of ReactiveReadController as their own asynchronous servlet.
+     * JSON is written with the application's ObjectMapper, the same one MVC uses.
+     */
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveReadServlet(
+            ReactiveReadController controller, ObjectMapper objectMapper) {
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/entries", controller::streamEntries)
+                .GET("/groups", controller::streamGroups)
+                .build();
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+        HttpHandler handler = authenticated(RouterFunctions.toHttpHandler(routes, strategies));
+
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(new ServletHttpHandlerAdapter(handler), MAPPING);
+        registration.setName("reactiveReads");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    /**
+     * Passes the caller authenticated by the security filter chain on to the handlers.
+     * The chain keeps it in a thread-local, which is only there while the servlet is first called,
+     * so it is read here and carried in the Reactor context; anonymous callers get 401.
+     */
+    static HttpHandler authenticated(HttpHandler handler) {
+        return (request, response) -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()
+                    || authentication instanceof AnonymousAuthenticationToken) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return response.setComplete();
+            }
+            return handler.handle(request, response)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        };
+    }
+}
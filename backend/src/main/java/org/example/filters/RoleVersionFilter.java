@@ -0,0 +1,53 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import java.io.IOException;
+
+import org.example.services.RoleVersions;                      // Current role version per user
+import org.example.services.VersionedJwtUser;                  // Principal parsed from the token
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects requests authenticated with a token issued before the user's roles or password changed.
+ * Runs after the security filter chain has authenticated the request from the token, and only
+ * compares the token's role version with the in-memory RoleVersions table.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class RoleVersionFilter extends OncePerRequestFilter {
+
+    // Current role version per user
+    private final RoleVersions roleVersions;
+
+    /**
+     * Constructor-based injection of the role version table.
+     */
+    public RoleVersionFilter(RoleVersions roleVersions) {
+        this.roleVersions = roleVersions;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof VersionedJwtUser user
+                && !roleVersions.isCurrent(user.getUsername(), user.getRoleVersion())) {
+            SecurityContextHolder.clearContext();
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Token revoked, please log in again");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
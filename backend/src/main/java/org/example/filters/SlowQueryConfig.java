@@ -0,0 +1,51 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.example.services.SlowQueryDataSource;               // Reports slow DAO statements
+import org.example.services.SlowQueryLog;                      // Keeps the latest slow statements
+import org.springframework.beans.factory.config.BeanPostProcessor; // Hook to wrap beans as they are created
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;                // Used to define Spring-managed beans
+import org.springframework.context.annotation.Configuration;       // Marks this class as a configuration class
+import org.springframework.core.env.Environment;                   // Access to application properties
+
+/**
+ * Configuration class that records DAO statements slower than slow-query.threshold,
+ * served by GET /api/admin/slow-queries. Only active when the threshold is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "slow-query.threshold")
+public class SlowQueryConfig {
+
+    /**
+     * The log of slow statements.
+     * Static and without dependencies, as the post-processor below needs it before regular beans exist.
+     */
+    @Bean
+    public static SlowQueryLog slowQueryLog(Environment environment) {
+        return new SlowQueryLog(environment.getRequiredProperty("slow-query.threshold", Duration.class),
+                environment.getProperty("slow-query.capacity", Integer.class, 100));
+    }
+
+    /**
+     * Wraps the DataSource in a SlowQueryDataSource.
+     * Static, as bean post-processors must be created before regular beans.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryPostProcessor(SlowQueryLog slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLog);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+// Package declaration
+package org.example.filters;
+
+// Required imports
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;                // Version of the running JVM
+import org.springframework.context.annotation.Configuration;       // Marks this class as a configuration class
+
+/**
+ * Configuration class that checks the "virtual" profile runs where it can take effect.
+ * Spring Boot only switches to virtual threads on Java 21 or later and otherwise ignores
+ * spring.threads.virtual.enabled without a word, leaving requests on the platform worker pool,
+ * so say so at startup.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    public VirtualThreadConfig() {
+        if (JavaVersion.getJavaVersion().isOlderThan(JavaVersion.TWENTY_ONE)) {
+            log.warn("spring.threads.virtual.enabled is set, but virtual threads need Java 21 or later and this is Java {}; "
+                    + "requests run on the platform worker pool (build with mvn -Pjava21 package and run on Java 21)",
+                    Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+// Package declaration
+package org.example.models;
+
+/**
+ * Outcome of a bulk operation for a single id.
+ * Bulk endpoints return one of these per requested id, so a client can tell
+ * which items were applied and why the others were skipped.
+ */
+public class BulkResult {
+
+    // The id the outcome refers to
+    private Long id;
+
+    // What happened to that id
+    private Status status;
+
+    /**
+     * Enum representing the outcome for one id.
+     * OK: the operation was applied.
+     * NOT_FOUND: no row has this id.
+     * FORBIDDEN: the row exists but belongs to another user.
+     */
+    public enum Status {
+        OK,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+
+    /**
+     * Default constructor (required for JSON deserialization).
+     */
+    public BulkResult() {
+    }
+
+    /**
+     * Creates an outcome for the given id.
+     *
+     * @param id     The id the outcome refers to.
+     * @param status What happened to that id.
+     */
+    public BulkResult(Long id, Status status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    /**
+     * Gets the id the outcome refers to.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id the outcome refers to.
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the outcome.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the outcome.
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,128 @@
+// Package declaration
+package org.example.models;
+
+/**
+ * Snapshot of an in-memory cache's counters, as reported by the admin endpoints.
+ */
+public class CacheStats {
+
+    // Lookups answered from the cache
+    private long hitCount;
+
+    // Lookups that had to load from the database
+    private long missCount;
+
+    // hitCount / (hitCount + missCount), or 1.0 when there were no lookups
+    private double hitRate;
+
+    // Entries removed because of the size limit or expiry
+    private long evictionCount;
+
+    // Average time spent loading a missing entry, in milliseconds
+    private double averageLoadMillis;
+
+    // Approximate number of entries currently cached
+    private long size;
+
+    /**
+     * Default constructor (required for JSON deserialization).
+     */
+    public CacheStats() {
+    }
+
+    /**
+     * Creates a snapshot with the given counters.
+     */
+    public CacheStats(long hitCount, long missCount, double hitRate, long evictionCount, double averageLoadMillis, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+        this.averageLoadMillis = averageLoadMillis;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Sets the number of lookups answered from the cache.
+     */
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that loaded from the database.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Sets the number of lookups that loaded from the database.
+     */
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache.
+     */
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    /**
+     * Sets the share of lookups answered from the cache.
+     */
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+
+    /**
+     * Gets the number of evicted entries.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Sets the number of evicted entries.
+     */
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Gets the average load time in milliseconds.
+     */
+    public double getAverageLoadMillis() {
+        return averageLoadMillis;
+    }
+
+    /**
+     * Sets the average load time in milliseconds.
+     */
+    public void setAverageLoadMillis(double averageLoadMillis) {
+        this.averageLoadMillis = averageLoadMillis;
+    }
+
+    /**
+     * Gets the approximate number of cached entries.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the approximate number of cached entries.
+     */
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
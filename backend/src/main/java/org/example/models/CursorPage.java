@@ -0,0 +1,64 @@
+// Package declaration
+package org.example.models;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ * The "next" cursor is opaque to clients; it is null once the last page has been returned.
+ *
+ * @param <T> Type of the items on the page.
+ */
+public class CursorPage<T> {
+
+    // Items on this page, in the order defined by the endpoint
+    private List<T> items;
+
+    // Cursor to pass back as "after" to fetch the following page (null on the last page)
+    private String next;
+
+    /**
+     * Default constructor (required for JSON deserialization).
+     */
+    public CursorPage() {
+    }
+
+    /**
+     * Creates a page with the given items and continuation cursor.
+     *
+     * @param items The items on this page.
+     * @param next  The cursor for the next page, or null if there is none.
+     */
+    public CursorPage(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    /**
+     * Gets the items on this page.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the items on this page.
+     */
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /**
+     * Gets the cursor for the next page (null on the last page).
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * Sets the cursor for the next page.
+     */
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
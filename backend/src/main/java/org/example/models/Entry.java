@@ -33,6 +33,10 @@ public class Entry {
     // The group this entry is associated with (e.g., "Fitness", "Nutrition")
     private EntryGroup group;
 
+    // Row version, incremented by every update; send it back with an update to have it rejected
+    // if someone else changed the entry in the meantime
+    private Integer version;
+
     /**
      * Enum representing the category/type of the entry.
      */
@@ -109,4 +113,13 @@ public class Entry {
     public void setGroup(EntryGroup group) {
         this.group = group;
     }
+
+    // Getter and setter for the row version
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
@@ -22,6 +22,9 @@ public class EntryGroup {
     // The username of the user who created this group
     private String createdBy;
 
+    // Row version, bumped by every update (an update carrying an older version is rejected)
+    private Integer version;
+
     /**
      * Enum representing the visibility status of the group.
      * PUBLIC: visible to other users (depending on app rules).
@@ -103,4 +106,18 @@ public class EntryGroup {
     public void setCreatedBy(String createdBy) {
         this.createdBy = createdBy;
     }
+
+    /**
+     * Gets the row version of the group.
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the row version of the group.
+     */
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,199 @@
+// Package declaration
+package org.example.models;
+
+/**
+ * Snapshot of the password-hashing pool's load and timings, as reported by the admin endpoints.
+ */
+public class HashingStats {
+
+    // Threads currently in the pool
+    private int poolSize;
+
+    // Threads currently hashing
+    private int activeCount;
+
+    // Hashes waiting for a thread
+    private int queueDepth;
+
+    // Most hashes allowed to wait before new ones are rejected
+    private int queueCapacity;
+
+    // Hashes completed since startup
+    private long completedCount;
+
+    // Hashes rejected because the pool and queue were full
+    private long rejectedCount;
+
+    // Average time per hash, in milliseconds
+    private double averageMillis;
+
+    // Longest single hash, in milliseconds
+    private double maxMillis;
+
+    // Stored hashes replaced at login because they were made with other settings
+    private long rehashCount;
+
+    // BCrypt cost calibrated at startup (null when the encoder is not the calibrated BCrypt one)
+    private Integer bcryptCost;
+
+    /**
+     * Default constructor (required for JSON deserialization).
+     */
+    public HashingStats() {
+    }
+
+    /**
+     * Creates a snapshot with the given values.
+     */
+    public HashingStats(int poolSize, int activeCount, int queueDepth, int queueCapacity, long completedCount, long rejectedCount, double averageMillis, double maxMillis, long rehashCount) {
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.completedCount = completedCount;
+        this.rejectedCount = rejectedCount;
+        this.averageMillis = averageMillis;
+        this.maxMillis = maxMillis;
+        this.rehashCount = rehashCount;
+    }
+
+    /**
+     * Gets the number of threads in the pool.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the number of threads in the pool.
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Gets the number of threads currently hashing.
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Sets the number of threads currently hashing.
+     */
+    public void setActiveCount(int activeCount) {
+        this.activeCount = activeCount;
+    }
+
+    /**
+     * Gets the number of hashes waiting for a thread.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Sets the number of hashes waiting for a thread.
+     */
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Gets the queue capacity.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the queue capacity.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the number of completed hashes.
+     */
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * Sets the number of completed hashes.
+     */
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    /**
+     * Gets the number of rejected hashes.
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Sets the number of rejected hashes.
+     */
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    /**
+     * Gets the average hash time in milliseconds.
+     */
+    public double getAverageMillis() {
+        return averageMillis;
+    }
+
+    /**
+     * Sets the average hash time in milliseconds.
+     */
+    public void setAverageMillis(double averageMillis) {
+        this.averageMillis = averageMillis;
+    }
+
+    /**
+     * Gets the longest hash time in milliseconds.
+     */
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Sets the longest hash time in milliseconds.
+     */
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Gets the number of hashes replaced at login.
+     */
+    public long getRehashCount() {
+        return rehashCount;
+    }
+
+    /**
+     * Sets the number of hashes replaced at login.
+     */
+    public void setRehashCount(long rehashCount) {
+        this.rehashCount = rehashCount;
+    }
+
+    /**
+     * Gets the calibrated BCrypt cost (null if not using calibrated BCrypt).
+     */
+    public Integer getBcryptCost() {
+        return bcryptCost;
+    }
+
+    /**
+     * Sets the calibrated BCrypt cost.
+     */
+    public void setBcryptCost(Integer bcryptCost) {
+        this.bcryptCost = bcryptCost;
+    }
+}
@@ -0,0 +1,44 @@
+// Package declaration
+package org.example.models;
+
+import java.util.List;
+
+/**
+ * Request body for moving several entries into another group.
+ */
+public class MoveEntriesRequest {
+
+    // Ids of the entries to move
+    private List<Long> ids;
+
+    // Id of the group the entries are moved into
+    private Long groupId;
+
+    /**
+     * Gets the ids of the entries to move.
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * Sets the ids of the entries to move.
+     */
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Gets the id of the target group.
+     */
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Sets the id of the target group.
+     */
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+}
@@ -0,0 +1,129 @@
+// Package declaration
+package org.example.models;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * A list of entries with each group sent once: "groups" maps group ids to groups, and every entry
+ * refers to its group by "groupId" instead of embedding a copy of it.
+ * Returned by the entry list and search endpoints for ?shape=normalized.
+ */
+public class NormalizedEntries {
+
+    // Groups of the entries, by id, in order of first use
+    private Map<Long, EntryGroup> groups;
+
+    // The entries, in the order of the list they were made from
+    private List<Item> entries;
+
+    /**
+     * Default constructor (required for JSON deserialization).
+     */
+    public NormalizedEntries() {
+    }
+
+    /**
+     * Creates the normalized form of a list of entries with embedded groups.
+     *
+     * @param groups  The groups, by id.
+     * @param entries The entries, referring to the groups by id.
+     */
+    public NormalizedEntries(Map<Long, EntryGroup> groups, List<Item> entries) {
+        this.groups = groups;
+        this.entries = entries;
+    }
+
+    /**
+     * Normalizes a list of entries with embedded groups. The first group seen for an id is kept.
+     */
+    public static NormalizedEntries of(List<Entry> list) {
+        Map<Long, EntryGroup> groups = new LinkedHashMap<>();
+        List<Item> entries = new ArrayList<>(list.size());
+        for (Entry entry : list) {
+            EntryGroup group = entry.getGroup();
+            if (group != null && group.getId() != null) {
+                groups.putIfAbsent(group.getId(), group);
+            }
+            entries.add(new Item(entry));
+        }
+        return new NormalizedEntries(groups, entries);
+    }
+
+    /**
+     * Gets the groups by id.
+     */
+    public Map<Long, EntryGroup> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Sets the groups by id.
+     */
+    public void setGroups(Map<Long, EntryGroup> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Gets the entries.
+     */
+    public List<Item> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Sets the entries.
+     */
+    public void setEntries(List<Item> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * An entry whose group is given by id only.
+     */
+    @JsonIgnoreProperties("group")
+    public static class Item extends Entry {
+
+        // Id of the entry's group, a key of "groups"
+        private Long groupId;
+
+        /**
+         * Default constructor (required for JSON deserialization).
+         */
+        public Item() {
+        }
+
+        /**
+         * Copies an entry, keeping only the id of its group.
+         */
+        public Item(Entry entry) {
+            setId(entry.getId());
+            setTitle(entry.getTitle());
+            setType(entry.getType());
+            setDescription(entry.getDescription());
+            setVisibility(entry.getVisibility());
+            setDate(entry.getDate());
+            setCreatedBy(entry.getCreatedBy());
+            setVersion(entry.getVersion());
+            this.groupId = entry.getGroup() == null ? null : entry.getGroup().getId();
+        }
+
+        /**
+         * Gets the id of the entry's group.
+         */
+        public Long getGroupId() {
+            return groupId;
+        }
+
+        /**
+         * Sets the id of the entry's group.
+         */
+        public void setGroupId(Long groupId) {
+            this.groupId = groupId;
+        }
+    }
+}
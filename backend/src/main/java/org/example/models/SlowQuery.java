@@ -0,0 +1,148 @@
+// Package declaration
+package org.example.models;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One statement that took longer than the slow-query threshold, as reported by the admin endpoints.
+ */
+public class SlowQuery {
+
+    // When the statement finished
+    private Instant time;
+
+    // DAO method that ran it, e.g. EntryDao.getAllByUser
+    private String source;
+
+    // Statement text as sent to the driver
+    private String sql;
+
+    // Type of each bind parameter in order (Strings with their length), never the values
+    private List<String> parameters;
+
+    // Time the driver took to execute it, in milliseconds
+    private double durationMillis;
+
+    // Rows of EXPLAIN, captured in the background shortly after (null until then, or when not explainable)
+    private List<Map<String, Object>> plan;
+
+    // Why EXPLAIN failed, if it did
+    private String planError;
+
+    /**
+     * Default constructor (required for JSON deserialization).
+     */
+    public SlowQuery() {
+    }
+
+    /**
+     * Creates a sample without its plan.
+     */
+    public SlowQuery(Instant time, String source, String sql, List<String> parameters, double durationMillis) {
+        this.time = time;
+        this.source = source;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Gets when the statement finished.
+     */
+    public Instant getTime() {
+        return time;
+    }
+
+    /**
+     * Sets when the statement finished.
+     */
+    public void setTime(Instant time) {
+        this.time = time;
+    }
+
+    /**
+     * Gets the DAO method that ran the statement.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Sets the DAO method that ran the statement.
+     */
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Gets the statement text.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Sets the statement text.
+     */
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Gets the types of the bind parameters.
+     */
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Sets the types of the bind parameters.
+     */
+    public void setParameters(List<String> parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * Gets the execution time in milliseconds.
+     */
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Sets the execution time in milliseconds.
+     */
+    public void setDurationMillis(double durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Gets the EXPLAIN rows, or null if not (yet) captured.
+     */
+    public List<Map<String, Object>> getPlan() {
+        return plan;
+    }
+
+    /**
+     * Sets the EXPLAIN rows.
+     */
+    public void setPlan(List<Map<String, Object>> plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * Gets why EXPLAIN failed, if it did.
+     */
+    public String getPlanError() {
+        return planError;
+    }
+
+    /**
+     * Sets why EXPLAIN failed.
+     */
+    public void setPlanError(String planError) {
+        this.planError = planError;
+    }
+}
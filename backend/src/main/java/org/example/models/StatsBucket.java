@@ -0,0 +1,64 @@
+// Package declaration
+package org.example.models;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.example.models.Entry.EntryType;
+
+/**
+ * Number of entries of each type in one day, week or month (GET /api/entries/stats).
+ * Types without entries in the period are left out.
+ */
+public class StatsBucket {
+
+    // First day of the period (the Monday for weeks, the 1st for months)
+    private LocalDate start;
+
+    // Entries per type in the period
+    private Map<EntryType, Long> counts = new EnumMap<>(EntryType.class);
+
+    /**
+     * Default constructor (required for JSON deserialization).
+     */
+    public StatsBucket() {
+    }
+
+    /**
+     * Creates an empty bucket for the period starting on the given day.
+     *
+     * @param start First day of the period.
+     */
+    public StatsBucket(LocalDate start) {
+        this.start = start;
+    }
+
+    /**
+     * Gets the first day of the period.
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Sets the first day of the period.
+     */
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    /**
+     * Gets the number of entries per type in the period.
+     */
+    public Map<EntryType, Long> getCounts() {
+        return counts;
+    }
+
+    /**
+     * Sets the number of entries per type in the period.
+     */
+    public void setCounts(Map<EntryType, Long> counts) {
+        this.counts = counts;
+    }
+}
@@ -1,5 +1,8 @@
 package org.example.models;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Model class for users.
  */
@@ -15,6 +18,12 @@ public class User {
     private String password;
 
     public String role;
+
+    /**
+     * All roles assigned to the user.
+     */
+    private List<String> roles = new ArrayList<>();
+
     /**
      * Creates a new user.
      *
@@ -69,4 +78,22 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    /**
+     * Gets all roles assigned to the user.
+     *
+     * @return The user's roles (never null).
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Sets all roles assigned to the user.
+     *
+     * @param roles The user's roles.
+     */
+    public void setRoles(List<String> roles) {
+        this.roles = roles == null ? new ArrayList<>() : roles;
+    }
 }
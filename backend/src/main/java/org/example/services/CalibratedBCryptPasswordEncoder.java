@@ -0,0 +1,128 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost is picked at startup to fit a latency budget on the current hardware.
+ * Hashes stored with any other cost report upgradeEncoding() == true, so they are rehashed
+ * (up or down) the next time the user logs in successfully.
+ */
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    // Encoder using the calibrated cost
+    private final BCryptPasswordEncoder delegate;
+
+    // The calibrated cost (log2 of the number of rounds)
+    private final int cost;
+
+    // Measured time of one hash at that cost, in milliseconds
+    private final double hashMillis;
+
+    /**
+     * Creates an encoder with a known cost.
+     *
+     * @param cost       BCrypt cost to hash new passwords with.
+     * @param hashMillis Measured time of one hash at that cost.
+     */
+    public CalibratedBCryptPasswordEncoder(int cost, double hashMillis) {
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+        this.hashMillis = hashMillis;
+    }
+
+    /**
+     * Picks the highest cost between minCost and maxCost whose hash time stays within the budget.
+     * Each extra cost step doubles the hash time, so the search stops as soon as the next step would not fit.
+     * minCost is used even when it is over the budget, as it is the security floor.
+     *
+     * @param budget  Target time for one hash.
+     * @param minCost Lowest cost allowed.
+     * @param maxCost Highest cost allowed.
+     * @return An encoder using the chosen cost.
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(Duration budget, int minCost, int maxCost) {
+        double budgetMillis = budget.toNanos() / 1_000_000.0;
+
+        // The first hash also warms up the JIT, so it is not counted
+        timeHash(minCost);
+        int cost = minCost;
+        double millis = timeHash(cost);
+
+        while (cost < maxCost && millis * 2 <= budgetMillis) {
+            double next = timeHash(cost + 1);
+            if (next > budgetMillis) {
+                break;
+            }
+            cost++;
+            millis = next;
+        }
+
+        log.info("BCrypt cost calibrated to {} ({} ms per hash, budget {} ms)", cost, Math.round(millis), Math.round(budgetMillis));
+        return new CalibratedBCryptPasswordEncoder(cost, millis);
+    }
+
+    /**
+     * Gets the calibrated cost.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Gets the measured time of one hash at the calibrated cost, in milliseconds.
+     */
+    public double getHashMillis() {
+        return hashMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // BCrypt reads the cost from the stored hash, so hashes of any cost still verify
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        Integer stored = costOf(encodedPassword);
+        return stored != null && stored != cost;
+    }
+
+    /**
+     * Reads the cost from a hash in "$2a$10$..." form, or null if it is not a BCrypt hash.
+     */
+    static Integer costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return null;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Times one hash at the given cost, in milliseconds.
+     */
+    private static double timeHash(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode("calibration-password");
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
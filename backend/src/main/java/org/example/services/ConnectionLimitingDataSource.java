@@ -0,0 +1,120 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that lets at most a fixed number of connections be checked out at once.
+ * With virtual threads there is no worker pool capping how many requests reach the database:
+ * thousands of requests can ask for a connection at the same moment. This makes them wait on a
+ * fair semaphore sized like the connection pool (cheap for a virtual thread, and in arrival order)
+ * and fail after a bounded wait, instead of piling onto the pool's own queue.
+ * A permit is held from getConnection until the connection is closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    // One permit per connection that may be checked out
+    private final Semaphore permits;
+
+    // Longest a caller waits for a permit
+    private final Duration timeout;
+
+    /**
+     * Wraps a DataSource.
+     *
+     * @param target     The pooled DataSource.
+     * @param maxActive  Connections that may be checked out at once (normally the pool size).
+     * @param timeout    Longest a caller waits for a permit before getting an exception.
+     */
+    public ConnectionLimitingDataSource(DataSource target, int maxActive, Duration timeout) {
+        super(target);
+        this.permits = new Semaphore(maxActive, true);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Number of callers currently waiting for a connection.
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Waits for a permit, or fails once the timeout has passed.
+     */
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No database connection available within " + timeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    /**
+     * Returns a view of the connection that gives the permit back when it is first closed.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        return new PermitConnection(connection);
+    }
+
+    /**
+     * Connection holding one of the permits, which it gives back when it is first closed.
+     */
+    private final class PermitConnection extends DelegatingConnection {
+
+        // Set once the permit is given back, so closing again does not release a second one
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitConnection(Connection target) {
+            super(target);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                target.close();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
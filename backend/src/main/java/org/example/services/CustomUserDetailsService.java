@@ -7,6 +7,7 @@ import org.example.models.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -17,18 +18,27 @@ import java.util.List;
 /**
  * Custom implementation of Spring Security's UserDetailsService
  * for authenticating users using JWT and loading user roles.
+ * Also stores passwords that were rehashed at login (see UserDetailsPasswordService).
  */
 @Component
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     // Injected DAO to interact with the user table
     private final UserDao userDao;
 
+    // Cache of loaded principals, invalidated by UserDao when a user's password or roles change
+    private final PrincipalCache principalCache;
+
+    // Counts rehashes for the admin statistics
+    private final PasswordHashingService hashingService;
+
     /**
-     * Constructor-based injection of UserDao.
+     * Constructor-based injection of UserDao, the principal cache and the hashing service.
      */
-    public CustomUserDetailsService(UserDao userDao) {
+    public CustomUserDetailsService(UserDao userDao, PrincipalCache principalCache, PasswordHashingService hashingService) {
         this.userDao = userDao;
+        this.principalCache = principalCache;
+        this.hashingService = hashingService;
     }
 
     /**
@@ -40,19 +50,43 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Retrieve user by username
+        // Served from the cache when possible; a miss costs a single query
+        return principalCache.get(username, this::loadFromDatabase);
+    }
+
+    /**
+     * Stores a new hash for a user after a successful login found their stored hash outdated
+     * (e.g. a different BCrypt cost than the one calibrated for this machine).
+     *
+     * @param user        The authenticated user.
+     * @param newPassword The password hashed with the current settings.
+     * @return The user with the new hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userDao.updatePasswordHash(user.getUsername(), newPassword);
+        hashingService.recordRehash();
+        return principalCache.get(user.getUsername(), this::loadFromDatabase);
+    }
+
+    /**
+     * Loads a user and their roles from the database.
+     *
+     * @param username The username of the user to load.
+     * @return JwtUser with username, password, and authorities.
+     * @throws UsernameNotFoundException if user not found in DB.
+     */
+    private JwtUser loadFromDatabase(String username) {
+        // Retrieve user (with roles) by username
         User user = userDao.getUserByUsername(username);
         if (user == null) {
             // Throw Spring's exception if user is not found
             throw new UsernameNotFoundException("User not found.");
         }
 
-        // Retrieve list of roles associated with the user (e.g., ROLE_ADMIN)
-        List<String> roles = userDao.getRoles(username);
-
-        // Convert roles to Spring Security GrantedAuthority objects
+        // Convert roles (e.g. ADMIN) to Spring Security GrantedAuthority objects
         List<GrantedAuthority> authorities = new ArrayList<>();
-        for (String role : roles) {
+        for (String role : user.getRoles()) {
             authorities.add(new SimpleGrantedAuthority(role));
         }
 
@@ -61,14 +95,6 @@ public class CustomUserDetailsService implements UserDetailsService {
         jwtUser.setUsername(user.getUsername());
         jwtUser.setPassword(user.getPassword());
         jwtUser.setAuthorities(authorities);
-
-        // Set account flags – all are enabled/valid
-        jwtUser.setAccountNonExpired(true);
-        jwtUser.setAccountNonLocked(true);
-        jwtUser.setApiAccessAllowed(true); // Enables API access for JWT flow
-        jwtUser.setCredentialsNonExpired(true);
-        jwtUser.setEnabled(true);
-
-        return jwtUser; // Return fully constructed Spring-compatible user object
+        return jwtUser;
     }
 }
@@ -0,0 +1,224 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Latency, rows and round trips of DAO methods and of the SQL statements they run.
+ *
+ * As a method interceptor around the DAOs, it records per method:
+ * dao.method (timer, tagged with the outcome), dao.method.statements (statements sent to the database)
+ * and dao.method.rows (rows read or written). SqlMetricsDataSource reports each statement to it, recorded as
+ * sql.statement (timer) and sql.statement.rows, tagged with the statement's template: its text with
+ * whitespace collapsed and lists of placeholders or of VALUES tuples shortened, so an IN list of any length
+ * is one template. Timers publish a percentile histogram and p50/p95/p99.
+ *
+ * Meters are created the first time a method or statement is seen and looked up by identity afterwards;
+ * recording a call only reads the clock and bumps counters of the calling thread.
+ */
+public class DaoMetrics implements MethodInterceptor {
+
+    // Template under which statements beyond the limit are counted
+    static final String OTHER_SQL = "other";
+
+    // Statement texts remembered with their template; beyond this, the template is worked out each time
+    private static final int MAX_SQL_TEXTS = 2000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern TUPLE_LIST = Pattern.compile("(\\([^()]*\\))(?:\\s*,\\s*\\1)+");
+
+    /**
+     * Statements sent and rows read or written by one thread so far.
+     * A DAO call records the difference between its start and its end, so nested calls count for both.
+     */
+    private static final class Counters {
+        long statements;
+        long rows;
+    }
+
+    /**
+     * Meters of one DAO method.
+     */
+    private record MethodMeters(Timer succeeded, Timer failed, DistributionSummary statements, DistributionSummary rows) {
+    }
+
+    /**
+     * Meters of one SQL template.
+     */
+    public record SqlMeters(Timer timer, DistributionSummary rows) {
+    }
+
+    private final ThreadLocal<Counters> counters = ThreadLocal.withInitial(Counters::new);
+
+    // Meters by DAO method
+    private final ConcurrentHashMap<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    // Meters by statement text as sent, and by template
+    private final ConcurrentHashMap<String, SqlMeters> sqlMeters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SqlMeters> templateMeters = new ConcurrentHashMap<>();
+
+    // Resolved when the first meter is created, as the DAOs and the DataSource are wrapped before the registry exists
+    private final Supplier<MeterRegistry> registry;
+
+    // Distinct templates given their own meters
+    private final int maxSqlTemplates;
+
+    /**
+     * Creates the metrics.
+     *
+     * @param registry        Supplies the registry the meters are added to.
+     * @param maxSqlTemplates Distinct SQL templates given their own meters; further ones are counted as "other".
+     */
+    public DaoMetrics(Supplier<MeterRegistry> registry, int maxSqlTemplates) {
+        this.registry = registry;
+        this.maxSqlTemplates = maxSqlTemplates;
+    }
+
+    /**
+     * Times a DAO method call and records the statements and rows it caused.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        MethodMeters meters = methodMeters.get(method);
+        if (meters == null) {
+            meters = methodMeters.computeIfAbsent(method, this::createMethodMeters);
+        }
+
+        Counters counters = this.counters.get();
+        long statements = counters.statements;
+        long rows = counters.rows;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            (failed ? meters.failed() : meters.succeeded()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.statements().record(counters.statements - statements);
+            meters.rows().record(counters.rows - rows);
+        }
+    }
+
+    /**
+     * Returns the meters of the template of a statement.
+     *
+     * @param sql The statement text as sent to the driver.
+     */
+    public SqlMeters sql(String sql) {
+        SqlMeters meters = sqlMeters.get(sql);
+        if (meters == null) {
+            meters = forTemplate(template(sql));
+            if (sqlMeters.size() < MAX_SQL_TEXTS) {
+                sqlMeters.putIfAbsent(sql, meters);
+            }
+        }
+        return meters;
+    }
+
+    /**
+     * Records one statement execution (one round trip).
+     *
+     * @param meters The statement's meters.
+     * @param nanos  Time until the driver returned the first results or the update count.
+     */
+    public void executed(SqlMeters meters, long nanos) {
+        meters.timer().record(nanos, TimeUnit.NANOSECONDS);
+        counters.get().statements++;
+    }
+
+    /**
+     * Records the rows a statement read (once its result set is closed) or wrote.
+     */
+    public void rows(SqlMeters meters, long rows) {
+        meters.rows().record(rows);
+        counters.get().rows += rows;
+    }
+
+    /**
+     * Returns the template of a statement: whitespace collapsed, and lists of placeholders or of
+     * identical VALUES tuples shortened to their first item.
+     */
+    static String template(String sql) {
+        String template = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        template = PLACEHOLDER_LIST.matcher(template).replaceAll("?, ...");
+        return TUPLE_LIST.matcher(template).replaceAll("$1, ...");
+    }
+
+    /**
+     * Returns the meters of a template, or of "other" once the limit is reached.
+     */
+    private SqlMeters forTemplate(String template) {
+        SqlMeters meters = templateMeters.get(template);
+        if (meters != null) {
+            return meters;
+        }
+        if (templateMeters.size() >= maxSqlTemplates) {
+            template = OTHER_SQL;
+        }
+        return templateMeters.computeIfAbsent(template, this::createSqlMeters);
+    }
+
+    private MethodMeters createMethodMeters(Method method) {
+        String dao = method.getDeclaringClass().getSimpleName();
+        String name = method.getName();
+        return new MethodMeters(
+                methodTimer(dao, name, "success"),
+                methodTimer(dao, name, "error"),
+                DistributionSummary.builder("dao.method.statements")
+                        .description("Statements sent to the database per DAO method call")
+                        .tags("dao", dao, "method", name)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry.get()),
+                DistributionSummary.builder("dao.method.rows")
+                        .description("Rows read or written per DAO method call")
+                        .baseUnit("rows")
+                        .tags("dao", dao, "method", name)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry.get()));
+    }
+
+    private Timer methodTimer(String dao, String method, String outcome) {
+        return Timer.builder("dao.method")
+                .description("Duration of DAO method calls")
+                .tags("dao", dao, "method", method, "outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry.get());
+    }
+
+    private SqlMeters createSqlMeters(String template) {
+        return new SqlMeters(
+                Timer.builder("sql.statement")
+                        .description("Duration of SQL statement executions")
+                        .tag("sql", template)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(registry.get()),
+                DistributionSummary.builder("sql.statement.rows")
+                        .description("Rows read or written per SQL statement execution")
+                        .baseUnit("rows")
+                        .tag("sql", template)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry.get()));
+    }
+}
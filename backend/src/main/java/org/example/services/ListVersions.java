@@ -0,0 +1,100 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory change counters behind the ETags of the entry and group lists.
+ * A user's list depends on their own rows and on public rows; the admin list depends on every row.
+ * The DAOs bump the matching counters on every write, so an unchanged list is recognised
+ * from its ETag alone, without running the list query.
+ *
+ * Counters start again at 0 on restart, so every ETag also carries the boot time.
+ * Bumps made inside a transaction are applied after it commits: a list read between the write
+ * and the commit still shows the old rows and must keep the old ETag.
+ */
+@Component
+public class ListVersions {
+
+    // Distinguishes ETags issued before a restart
+    private final long epoch = System.currentTimeMillis();
+
+    // Bumped when rows may have changed without a precise bump (e.g. written outside the DAOs)
+    private final AtomicLong generation = new AtomicLong();
+
+    // Bumped by every write to a public row
+    private final AtomicLong publicVersion = new AtomicLong();
+
+    // Bumped by every write (the admin lists)
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    // Bumped by every write to one of the user's rows
+    private final Map<String, AtomicLong> userVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the strong ETag of the caller's view of a list.
+     * Read it before running the list query, so a concurrent write can only make the tag older than the data.
+     *
+     * @param username The caller.
+     * @param isAdmin  Whether the caller sees every row.
+     */
+    public String etag(String username, boolean isAdmin) {
+        String prefix = epoch + "." + generation.get();
+        if (isAdmin) {
+            return "\"" + prefix + ".a" + globalVersion.get() + "\"";
+        }
+        // The username is part of the tag, so a browser shared by two users never gets a 304 for the other's list
+        String user = Base64.getUrlEncoder().withoutPadding().encodeToString(username.getBytes(StandardCharsets.UTF_8));
+        AtomicLong own = userVersions.get(username);
+        return "\"" + prefix + ".u" + user + "." + (own == null ? 0 : own.get()) + "." + publicVersion.get() + "\"";
+    }
+
+    /**
+     * Returns a number that grows with every write to the given user's rows (or, for null, to any row),
+     * for caches of data read from those rows: a value loaded under an older number is never looked up again.
+     * Read it before loading the data, as for etag.
+     */
+    public long version(String owner) {
+        long changes;
+        if (owner == null) {
+            changes = globalVersion.get();
+        } else {
+            AtomicLong own = userVersions.get(owner);
+            changes = own == null ? 0 : own.get();
+        }
+        // Both counters only grow, so their sum changes whenever either does
+        return generation.get() + changes;
+    }
+
+    /**
+     * Records a write to a row owned by the given user.
+     *
+     * @param owner   The row's creator (null if the creator was deleted).
+     * @param visible Whether the row is, or was before the write, visible to every user.
+     */
+    public void changed(String owner, boolean visible) {
+        AfterCommit.run(() -> {
+            if (owner != null) {
+                userVersions.computeIfAbsent(owner, k -> new AtomicLong()).incrementAndGet();
+            }
+            if (visible) {
+                publicVersion.incrementAndGet();
+            }
+            globalVersion.incrementAndGet();
+        });
+    }
+
+    /**
+     * Changes every ETag. Used for writes whose effect on individual lists is not known.
+     */
+    public void invalidateAll() {
+        AfterCommit.run(generation::incrementAndGet);
+    }
+}
@@ -0,0 +1,53 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder that delegates to another encoder but runs encode and matches
+ * on the PasswordHashingService pool instead of the calling request thread.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    // The encoder doing the actual hashing
+    private final PasswordEncoder delegate;
+
+    // Looked up on first use, since encoders are created before most other beans
+    private final ObjectProvider<PasswordHashingService> hashingService;
+
+    /**
+     * Wraps an encoder.
+     *
+     * @param delegate       The encoder doing the actual hashing.
+     * @param hashingService Provider of the pool the hashing runs on.
+     */
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, ObjectProvider<PasswordHashingService> hashingService) {
+        this.delegate = delegate;
+        this.hashingService = hashingService;
+    }
+
+    /**
+     * Gets the wrapped encoder.
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingService.getObject().run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingService.getObject().run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the stored hash, so it stays on the caller
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
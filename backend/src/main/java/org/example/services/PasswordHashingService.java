@@ -0,0 +1,196 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.example.models.HashingStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs CPU-heavy password hashing (signup, password change, login) on a small dedicated pool,
+ * so a burst of credential work cannot occupy every request thread and slow down the rest of the API.
+ * Work beyond the pool and its bounded queue is rejected straight away with 503.
+ * The pool's load is also published to Micrometer as password.hashing.active, password.hashing.queue.depth
+ * (gauges), password.hashing.rejected and password.hashing.timeouts (counters).
+ */
+@Component
+public class PasswordHashingService implements MeterBinder {
+
+    // Fixed-size pool with a bounded queue; AbortPolicy rejects instead of running on the caller
+    private final ThreadPoolExecutor executor;
+
+    // Longest a request thread waits for its hash before giving up
+    private final Duration waitTimeout;
+
+    // Counters reported by stats()
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong rehashed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    // Hashes started and not yet finished, including those whose caller gave up waiting
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * Creates the pool with the configured limits.
+     *
+     * @param threads       Number of hashing threads (0 means half the available processors).
+     * @param queueCapacity Number of hashes allowed to wait for a thread.
+     * @param waitTimeout   Longest a caller waits for its hash.
+     */
+    public PasswordHashingService(@Value("${password-hashing.threads:0}") int threads,
+                                  @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${password-hashing.wait-timeout:PT10S}") Duration waitTimeout) {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     *
+     * @param task The hashing work (encode or matches).
+     * @return The task's result.
+     * @throws ResponseStatusException 503 if the pool and its queue are full, or the hash takes too long.
+     */
+    public <T> T run(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                running.incrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    record(System.nanoTime() - start);
+                    running.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins, please retry shortly");
+        }
+
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.incrementAndGet();
+            abandon(future);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Password hashing timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            // Rethrow what the encoder threw, unchanged where possible
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Gives up on a hash nobody waits for any more. One still in the queue is taken out, freeing its place;
+     * one already running is left to finish, as BCrypt does not check for interruption, and its thread
+     * stays counted as busy until then.
+     */
+    private void abandon(Future<?> future) {
+        if (future.cancel(false)) {
+            executor.remove((Runnable) future);
+        }
+    }
+
+    /**
+     * Counts a stored hash that was replaced at login.
+     */
+    public void recordRehash() {
+        rehashed.incrementAndGet();
+    }
+
+    /**
+     * Returns the pool's current load and timing counters.
+     */
+    public HashingStats stats() {
+        long count = completed.get();
+        return new HashingStats(
+                executor.getPoolSize(),
+                running.get(),
+                executor.getQueue().size(),
+                executor.getQueue().size() + executor.getQueue().remainingCapacity(),
+                count,
+                rejected.get(),
+                count == 0 ? 0 : totalNanos.get() / (double) count / 1_000_000.0,
+                maxNanos.get() / 1_000_000.0,
+                rehashed.get());
+    }
+
+    /**
+     * Registers the pool's gauges and counters; called by Spring Boot once the meter registry exists.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("password.hashing.active", running, AtomicInteger::get)
+                .description("Hashes running, including those whose caller timed out")
+                .register(registry);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashes waiting for a thread")
+                .register(registry);
+        FunctionCounter.builder("password.hashing.rejected", rejected, AtomicLong::get)
+                .description("Hashes rejected because the pool and its queue were full")
+                .register(registry);
+        FunctionCounter.builder("password.hashing.timeouts", timedOut, AtomicLong::get)
+                .description("Hashes whose caller stopped waiting")
+                .register(registry);
+    }
+
+    /**
+     * Stops the pool when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Records the duration of one completed hash.
+     */
+    private void record(long nanos) {
+        completed.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
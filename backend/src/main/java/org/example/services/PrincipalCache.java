@@ -0,0 +1,112 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.example.models.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import eu.fraho.spring.securityJwt.base.dto.JwtUser;
+
+/**
+ * Bounded cache of authentication principals, keyed by username.
+ * Entries expire after a fixed time and the least used ones are evicted once the size limit is reached.
+ * UserDao invalidates a user's entry whenever their password or roles change or the user is deleted.
+ */
+@Component
+public class PrincipalCache {
+
+    /**
+     * What is kept per user. JwtUser is mutable (Spring Security erases its password after login),
+     * so the cache keeps this immutable snapshot and hands out a fresh JwtUser on every lookup.
+     */
+    private record Principal(String username, String password, List<GrantedAuthority> authorities) {
+    }
+
+    // Cached principals by username
+    private final Cache<String, Principal> cache;
+
+    // Role version stamped on each principal handed out (and so on the tokens issued for it)
+    private final RoleVersions roleVersions;
+
+    /**
+     * Creates the cache with the configured limits.
+     *
+     * @param maxSize Maximum number of cached principals.
+     * @param ttl     How long a principal stays cached after it was loaded.
+     * @param roleVersions Current role version per user.
+     */
+    public PrincipalCache(@Value("${principal-cache.max-size:10000}") long maxSize,
+                          @Value("${principal-cache.ttl:PT5M}") Duration ttl,
+                          RoleVersions roleVersions) {
+        this.roleVersions = roleVersions;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the principal for a username, loading it on a miss.
+     *
+     * @param username The username to look up.
+     * @param loader   Loads the principal from the database; may throw to signal an unknown user (nothing is cached then).
+     * @return A new VersionedJwtUser the caller is free to modify.
+     */
+    public VersionedJwtUser get(String username, Function<String, JwtUser> loader) {
+        Principal principal = cache.get(username, key -> {
+            JwtUser loaded = loader.apply(key);
+            return new Principal(loaded.getUsername(), loaded.getPassword(), List.copyOf(loaded.getAuthorities()));
+        });
+        return toJwtUser(principal);
+    }
+
+    /**
+     * Drops the cached principal for a username, so the next lookup reads the database.
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Drops every cached principal.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the hit/miss counters since startup.
+     */
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
+        return new CacheStats(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+                stats.averageLoadPenalty() / 1_000_000.0, cache.estimatedSize());
+    }
+
+    /**
+     * Builds a JwtUser from a cached snapshot, stamped with the user's current role version.
+     */
+    private VersionedJwtUser toJwtUser(Principal principal) {
+        VersionedJwtUser jwtUser = new VersionedJwtUser();
+        jwtUser.setRoleVersion(roleVersions.current(principal.username()));
+        jwtUser.setUsername(principal.username());
+        jwtUser.setPassword(principal.password());
+        jwtUser.setAuthorities(principal.authorities());
+        jwtUser.setAccountNonExpired(true);
+        jwtUser.setAccountNonLocked(true);
+        jwtUser.setApiAccessAllowed(true);
+        jwtUser.setCredentialsNonExpired(true);
+        jwtUser.setEnabled(true);
+        return jwtUser;
+    }
+}
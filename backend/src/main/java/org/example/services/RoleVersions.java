@@ -0,0 +1,59 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory role version per user, used to revoke issued tokens without a database lookup.
+ * Every token carries the version that was current when it was issued (the "rv" claim);
+ * changing a user's roles or password bumps the version, and older tokens are then rejected.
+ *
+ * Versions are timestamps, so they keep increasing across restarts. An entry is only needed
+ * while tokens issued before the bump could still be valid, so it expires after the token lifetime.
+ */
+@Component
+public class RoleVersions {
+
+    // Latest version per user, for users changed within the last token lifetime
+    private final Cache<String, Long> versions;
+
+    /**
+     * Creates the version table.
+     *
+     * @param tokenLifetimeSeconds Lifetime of issued access tokens.
+     */
+    public RoleVersions(@Value("${fraho.jwt.expire-seconds:3600}") long tokenLifetimeSeconds) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(tokenLifetimeSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the version to put into a new token for the user (0 if not changed recently).
+     */
+    public long current(String username) {
+        Long version = versions.getIfPresent(username);
+        return version == null ? 0L : version;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far.
+     */
+    public void bump(String username) {
+        versions.asMap().merge(username, System.currentTimeMillis(), (old, now) -> Math.max(old + 1, now));
+    }
+
+    /**
+     * Whether a token carrying the given version is still valid for the user.
+     */
+    public boolean isCurrent(String username, long version) {
+        return version >= current(username);
+    }
+}
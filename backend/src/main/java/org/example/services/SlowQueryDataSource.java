@@ -0,0 +1,133 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that reports statements run by EntryDao, EntryGroupDao or UserDao to the SlowQueryLog
+ * when they take longer than its threshold. Prepared statements remember their bind values, so the
+ * log can record their types and run EXPLAIN with the same values; the calling DAO method is only
+ * looked up (from the stack) once a statement has turned out to be slow.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    // Classes whose statements are reported
+    private static final Set<String> DAOS = Set.of(
+            "org.example.daos.EntryDao", "org.example.daos.EntryGroupDao", "org.example.daos.UserDao");
+
+    // Where slow statements are recorded
+    private final SlowQueryLog slowQueries;
+
+    /**
+     * Wraps a DataSource.
+     *
+     * @param target      The pooled DataSource, whose settings EXPLAIN's own connection is opened with.
+     * @param slowQueries Where slow statements are recorded.
+     */
+    public SlowQueryDataSource(DataSource target, SlowQueryLog slowQueries) {
+        super(target);
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new ObservedConnection(super.getConnection(), StatementHandler::new);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new ObservedConnection(super.getConnection(username, password), StatementHandler::new);
+    }
+
+    /**
+     * Keeps the bind values and times executions.
+     */
+    private class StatementHandler implements StatementObserver {
+
+        private final Statement statement;
+
+        // Bind values by parameter index - 1
+        private Object[] values = new Object[0];
+
+        StatementHandler(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public <T> T execute(String sql, Execution<T> execution) throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return execution.run();
+            } finally {
+                long nanos = System.nanoTime() - start;
+                if (slowQueries.isSlow(nanos)) {
+                    String source = caller();
+                    // Batches of plain statements have no single text; statements from elsewhere are not ours to report
+                    if (sql != null && source != null) {
+                        slowQueries.record(source, sql, parameterTypes(), values, nanos, statement.getConnection().getCatalog(), getTargetDataSource());
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void bound(int index, Object value) {
+            if (index > values.length) {
+                values = Arrays.copyOf(values, index);
+            }
+            values[index - 1] = value;
+        }
+
+        @Override
+        public void cleared() {
+            values = new Object[0];
+        }
+
+        /**
+         * Returns the type of each bind value, with the length of Strings (never the values themselves).
+         */
+        private List<String> parameterTypes() {
+            List<String> types = new ArrayList<>(values.length);
+            for (Object value : values) {
+                if (value == null) {
+                    types.add("null");
+                } else if (value instanceof String text) {
+                    types.add("String(" + text.length() + ")");
+                } else {
+                    types.add(value.getClass().getSimpleName());
+                }
+            }
+            return types;
+        }
+    }
+
+    /**
+     * Returns the DAO method on the current stack, as Class.method, or null if no DAO is calling.
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> DAOS.contains(frame.getClassName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    String method = frame.getMethodName();
+                    // Row mappers and callbacks are lambdas named lambda$<enclosing method>$<n>
+                    if (method.startsWith("lambda$")) {
+                        method = method.substring("lambda$".length(), method.lastIndexOf('$'));
+                    }
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + method;
+                })
+                .orElse(null));
+    }
+}
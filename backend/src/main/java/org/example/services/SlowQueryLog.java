@@ -0,0 +1,194 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.example.models.SlowQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * The most recent statements that took longer than a threshold, newest first, in a fixed-size ring buffer.
+ * Each sample keeps the SQL and the types of its bind parameters; the plan (EXPLAIN) is captured afterwards
+ * on a single background thread, so the slow request is not made slower. Plans that cannot be captured
+ * quickly (the queue is full) are skipped.
+ *
+ * EXPLAIN runs on a connection of its own, opened with the pool's settings, rather than one borrowed from
+ * the pool: a slow query often means the pool is under pressure, and the plan must not take a connection
+ * a request is waiting for, nor wait behind those requests. It is also cut off after EXPLAIN_TIMEOUT_SECONDS.
+ */
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    // Statements MySQL can EXPLAIN without side effects, possibly wrapped in parentheses (UNION branches)
+    private static final Pattern EXPLAINABLE = Pattern.compile("^[\\s(]*(select|update|delete|with)\\b", Pattern.CASE_INSENSITIVE);
+
+    // Longest an EXPLAIN may run before the database cancels it
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 5;
+
+    // Statements at least this slow are recorded
+    private final long thresholdNanos;
+
+    // Ring buffer: next is where the next sample goes, size how many are filled
+    private final SlowQuery[] samples;
+    private int next;
+    private int size;
+
+    // One thread running EXPLAIN; DiscardPolicy drops plans that would queue behind too many others
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16),
+            task -> {
+                Thread thread = new Thread(task, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    // The connection EXPLAIN runs on, one per pool whose statements it explains (closed by shutdown)
+    private final Map<DataSource, SingleConnectionDataSource> explainConnections = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty log.
+     *
+     * @param threshold Statements at least this slow are recorded.
+     * @param capacity  Number of samples kept; older ones are overwritten.
+     */
+    public SlowQueryLog(Duration threshold, int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.samples = new SlowQuery[capacity];
+    }
+
+    /**
+     * Returns whether a statement that took the given time should be recorded.
+     */
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Records a slow statement and queues the capture of its plan.
+     *
+     * @param source     DAO method that ran the statement.
+     * @param sql        Statement text.
+     * @param parameters Types of the bind parameters.
+     * @param values     Values of the bind parameters, only used for EXPLAIN and not kept.
+     * @param nanos      Execution time.
+     * @param catalog    Database the statement ran in.
+     * @param dataSource The pool the statement ran on; EXPLAIN opens a connection of its own like it.
+     */
+    public void record(String source, String sql, List<String> parameters, Object[] values, long nanos, String catalog, DataSource dataSource) {
+        SlowQuery sample = new SlowQuery(Instant.now(), source, sql, parameters, nanos / 1_000_000.0);
+        synchronized (this) {
+            samples[next] = sample;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+        log.warn("Slow query ({} ms) in {}: {}", Math.round(sample.getDurationMillis()), source, sql);
+
+        if (EXPLAINABLE.matcher(sql).find()) {
+            Object[] bound = Arrays.copyOf(values, values.length);
+            explainer.execute(() -> explain(sample, bound, catalog, dataSource));
+        }
+    }
+
+    /**
+     * Returns the samples, newest first.
+     */
+    public synchronized List<SlowQuery> samples() {
+        List<SlowQuery> result = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            result.add(samples[(next - i + samples.length) % samples.length]);
+        }
+        return result;
+    }
+
+    /**
+     * Runs EXPLAIN with the statement's own parameter values and attaches the result to the sample.
+     */
+    private void explain(SlowQuery sample, Object[] values, String catalog, DataSource dataSource) {
+        SingleConnectionDataSource connection = explainConnections.computeIfAbsent(dataSource, SlowQueryLog::openLike);
+        if (connection == null) {
+            synchronized (this) {
+                sample.setPlanError("No connection of its own can be opened for EXPLAIN next to " + dataSource.getClass().getSimpleName());
+            }
+            return;
+        }
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(connection);
+            jdbcTemplate.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+            // The statement's database, which need not be the connection's current one
+            if (catalog != null) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                    con.setCatalog(catalog);
+                    return null;
+                });
+            }
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sample.getSql(), values);
+            synchronized (this) {
+                sample.setPlan(plan);
+            }
+        } catch (RuntimeException e) {
+            // Reconnect next time, in case the connection itself failed
+            connection.resetConnection();
+            synchronized (this) {
+                sample.setPlanError(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns a DataSource holding one connection (opened on first use) to the database of the given pool,
+     * with the pool's settings, or null if those settings cannot be read from it.
+     */
+    private static SingleConnectionDataSource openLike(DataSource dataSource) {
+        HikariDataSource pool;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return null;
+            }
+            pool = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return null;
+        }
+        if (pool.getJdbcUrl() == null) {
+            return null;
+        }
+        SingleConnectionDataSource connection = new SingleConnectionDataSource(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword(), true);
+        if (pool.getDriverClassName() != null) {
+            connection.setDriverClassName(pool.getDriverClassName());
+        }
+        connection.setConnectionProperties(pool.getDataSourceProperties());
+        return connection;
+    }
+
+    /**
+     * Stops the EXPLAIN thread and closes its connections on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+        explainConnections.values().forEach(SingleConnectionDataSource::destroy);
+    }
+}
@@ -0,0 +1,141 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.example.services.DaoMetrics.SqlMeters;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that reports every SQL statement to DaoMetrics: how long the driver took to execute it,
+ * and how many rows it read (counted as the result set is read, recorded when it is closed) or wrote.
+ * Connections, statements and result sets are handed out as wrappers that pass every call through,
+ * so all DAOs (each building its JdbcTemplate on this DataSource) are covered without changes.
+ * The wrappers are plain classes: only executions and the result set's next and close do extra work,
+ * every other call (such as the getters a row mapper calls) is a direct call the JIT can inline.
+ */
+public class SqlMetricsDataSource extends DelegatingDataSource {
+
+    // Where statements are recorded
+    private final DaoMetrics metrics;
+
+    /**
+     * Wraps a DataSource.
+     *
+     * @param target  The pooled DataSource.
+     * @param metrics Where statements are recorded.
+     */
+    public SqlMetricsDataSource(DataSource target, DaoMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new ObservedConnection(super.getConnection(), StatementHandler::new);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new ObservedConnection(super.getConnection(username, password), StatementHandler::new);
+    }
+
+    /**
+     * Times executions and counts the rows they read or wrote.
+     */
+    private class StatementHandler implements StatementObserver {
+
+        private final Statement statement;
+
+        // Meters of the last execution, for a result set fetched afterwards with getResultSet
+        private SqlMeters last;
+
+        StatementHandler(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(String sql, Execution<T> execution) throws SQLException {
+            // A plain statement's batch (addBatch(String)) has no single text
+            SqlMeters meters = metrics.sql(sql != null ? sql : "batch");
+            last = meters;
+            long start = System.nanoTime();
+            T result;
+            try {
+                result = execution.run();
+            } finally {
+                metrics.executed(meters, System.nanoTime() - start);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                return (T) new RowCountingResultSet(resultSet, meters);
+            } else if (result instanceof Integer count) {
+                metrics.rows(meters, count);
+            } else if (result instanceof Long count) {
+                metrics.rows(meters, count);
+            } else if (result instanceof int[] counts) {
+                long rows = 0;
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+                metrics.rows(meters, rows);
+            } else if (result instanceof long[] counts) {
+                long rows = 0;
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+                metrics.rows(meters, rows);
+            } else if (Boolean.FALSE.equals(result)) {
+                metrics.rows(meters, Math.max(statement.getUpdateCount(), 0));
+            }
+            return result;
+        }
+
+        @Override
+        public ResultSet resultSet(ResultSet resultSet) {
+            return last == null ? resultSet : new RowCountingResultSet(resultSet, last);
+        }
+    }
+
+    /**
+     * Counts the rows read, and records them when the result set is closed.
+     */
+    private class RowCountingResultSet extends DelegatingResultSet {
+
+        private final SqlMeters meters;
+
+        private long rows;
+
+        private boolean recorded;
+
+        RowCountingResultSet(ResultSet resultSet, SqlMeters meters) {
+            super(resultSet);
+            this.meters = meters;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            boolean next = target.next();
+            if (next) {
+                rows++;
+            }
+            return next;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            target.close();
+            if (!recorded) {
+                recorded = true;
+                metrics.rows(meters, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Sees the executions of one statement handed out by an ObservedConnection; each statement gets its own.
+ */
+interface StatementObserver {
+
+    /**
+     * One execution of the statement, as run by the driver.
+     */
+    @FunctionalInterface
+    interface Execution<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * Runs one execution of the statement and returns its result (or a view of it).
+     *
+     * @param sql       Text of the statement: the prepared SQL or the one given to execute,
+     *                  null for a batch of plain statements (addBatch(String)), which has no single text.
+     * @param execution Runs the statement.
+     */
+    <T> T execute(String sql, Execution<T> execution) throws SQLException;
+
+    /**
+     * Returns what getResultSet hands out for the result of the last execution.
+     */
+    default ResultSet resultSet(ResultSet resultSet) throws SQLException {
+        return resultSet;
+    }
+
+    /**
+     * Called when a parameter of a prepared statement is set; value is null for setNull.
+     */
+    default void bound(int index, Object value) {
+    }
+
+    /**
+     * Called when the parameters of a prepared statement are cleared.
+     */
+    default void cleared() {
+    }
+}
@@ -0,0 +1,49 @@
+// Package declaration
+package org.example.services;
+
+// Required imports
+import java.text.ParseException;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import eu.fraho.spring.securityJwt.base.dto.JwtUser;
+
+/**
+ * JwtUser that also carries the user's role version (see RoleVersions) in the "rv" claim.
+ * Authorities already travel in the token, so a request is authenticated from the token alone;
+ * the version only lets revoked tokens be spotted with an in-memory check.
+ */
+public class VersionedJwtUser extends JwtUser {
+
+    // Name of the claim holding the role version
+    public static final String ROLE_VERSION_CLAIM = "rv";
+
+    // Role version at the time the token was issued (0 for tokens without the claim)
+    private long roleVersion;
+
+    /**
+     * Gets the role version.
+     */
+    public long getRoleVersion() {
+        return roleVersion;
+    }
+
+    /**
+     * Sets the role version.
+     */
+    public void setRoleVersion(long roleVersion) {
+        this.roleVersion = roleVersion;
+    }
+
+    @Override
+    public JWTClaimsSet.Builder toClaims() {
+        return super.toClaims().claim(ROLE_VERSION_CLAIM, roleVersion);
+    }
+
+    @Override
+    public void applyClaims(JWTClaimsSet claims) throws ParseException {
+        super.applyClaims(claims);
+        Long version = claims.getLongClaim(ROLE_VERSION_CLAIM);
+        this.roleVersion = version == null ? 0L : version;
+    }
+}
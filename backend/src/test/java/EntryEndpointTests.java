@@ -1,22 +1,44 @@
 // Import static assertion methods from JUnit
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.example.SpringBootApplication;
+import org.example.daos.EntryDao;
+import org.example.models.BulkResult;
+import org.example.models.CursorPage;
 import org.example.models.Entry;
 import org.example.models.Entry.EntryType;
 import org.example.models.EntryGroup;
 import org.example.models.EntryGroup.Visibility;
+import org.example.models.MoveEntriesRequest;
+import org.example.models.NormalizedEntries;
+import org.example.models.StatsBucket;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -33,6 +55,14 @@ public class EntryEndpointTests extends WebStoreTest {
     // Used to serialize/deserialize JSON (not actively used in this class but initialized)
     private final ObjectMapper mapper = new ObjectMapper();
 
+    // Used to reload the search index after seeding rows directly through SQL
+    @Autowired
+    private EntryDao entryDao;
+
+    // Used to roll back writes made straight through the DAO
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     // Test fetching all entries as admin
     @Test
     @DisplayName("GET /api/entries as ADMIN returns all entries")
@@ -211,4 +241,719 @@ public class EntryEndpointTests extends WebStoreTest {
 
         assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
     }
+
+    // Test walking through entries page by page with the keyset cursor
+    @Test
+    @DisplayName("GET /api/entries?limit=2 pages through own and public entries newest first")
+    public void getEntriesPaged() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, visibility, date, created_by, group_id) values
+            (101, 'a', 'Workout', 'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'b', 'Workout', 'PRIVATE', '2025-05-03', 'carol', 100),
+            (103, 'c', 'Diet',    'PUBLIC',  '2025-05-03', 'carol', 100),
+            (104, 'd', 'Diet',    'PUBLIC',  '2025-05-02', 'dave',  100),
+            (105, 'e', 'Other',   'PRIVATE', '2025-05-04', 'dave',  100)
+        """);
+
+        var request = GetAuthEntity("carol", "carol");
+        var pageType = new ParameterizedTypeReference<CursorPage<Entry>>() {};
+        List<Long> ids = new ArrayList<>();
+        String url = getBaseUrl() + "/api/entries?limit=2";
+        CursorPage<Entry> page;
+        do {
+            var result = restTemplate.exchange(url, HttpMethod.GET, request, pageType);
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            page = result.getBody();
+            assertNotNull(page);
+            page.getItems().forEach(e -> ids.add(e.getId()));
+            url = getBaseUrl() + "/api/entries?limit=2&after=" + page.getNext();
+        } while (page.getNext() != null);
+
+        // dave's private entry (105) is not visible to carol
+        assertEquals(List.of(103L, 102L, 104L, 101L), ids);
+        assertNull(page.getNext());
+    }
+
+    // Test that a malformed cursor is rejected
+    @Test
+    @DisplayName("GET /api/entries?limit=2&after=garbage returns 400")
+    public void getEntriesPagedBadCursor() {
+        getJdbcTemplate().update("insert into users (username, password) values ('carol', 'carol')");
+        var request = GetAuthEntity("carol", "carol");
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries?limit=2&after=garbage",
+            HttpMethod.GET,
+            request,
+            String.class
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    // Test exporting visible entries as newline-delimited JSON
+    @Test
+    @DisplayName("GET /api/entries/export streams one JSON entry per line")
+    public void exportEntriesAsNdjson() throws Exception {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, visibility, date, created_by, group_id) values
+            (101, 'a', 'Workout', 'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'b', 'Diet',    'PUBLIC',  '2025-05-02', 'dave',  100),
+            (103, 'c', 'Other',   'PRIVATE', '2025-05-03', 'dave',  100)
+        """);
+
+        var request = GetAuthEntity("carol", "carol");
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries/export",
+            HttpMethod.GET,
+            request,
+            String.class
+        );
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        String[] lines = result.getBody().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(101L, mapper.readValue(lines[0], Entry.class).getId());
+        assertEquals(102L, mapper.readValue(lines[1], Entry.class).getId());
+
+        // gzip with a q-value of 0 means "not gzip"
+        var headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+        var plain = restTemplate.exchange(getBaseUrl() + "/api/entries/export", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(2, plain.getBody().split("\n").length);
+    }
+
+    // Test ranked full-text search across title and description
+    @Test
+    @DisplayName("GET /api/entries/search?mode=fulltext ranks matching entries")
+    public void fullTextSearchRanksMatches() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Marathon', 'Workout', 'Marathon pace marathon training', 'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'Long run', 'Workout', 'Easy run before the marathon',    'PRIVATE', '2025-05-02', 'carol', 100),
+            (103, 'Lunch',    'Diet',    'Salad and soup',                  'PRIVATE', '2025-05-03', 'carol', 100),
+            (104, 'Marathon', 'Workout', 'Someone else''s private marathon', 'PRIVATE', '2025-05-04', 'dave',  100)
+        """);
+
+        var request = GetAuthEntity("carol", "carol");
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries/search?mode=fulltext&query=marathon&limit=10",
+            HttpMethod.GET,
+            request,
+            Entry[].class
+        );
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        Entry[] entries = result.getBody();
+        assertNotNull(entries);
+        assertEquals(2, entries.length);
+        assertEquals(101L, entries[0].getId()); // more occurrences rank first
+        assertEquals(102L, entries[1].getId());
+    }
+
+    // Test substring search on title (answered from the search index), including visibility rules
+    @Test
+    @DisplayName("GET /api/entries/search?field=title matches substrings and respects visibility")
+    public void searchEntriesByTitleSubstring() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Morning Run',   'Workout', 'Easy',   'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'Evening run',   'Workout', 'Tempo',  'PRIVATE', '2025-05-02', 'carol', 100),
+            (103, 'Lunch',         'Diet',    'Salad',  'PRIVATE', '2025-05-03', 'carol', 100),
+            (104, 'Trail running', 'Workout', 'Hills',  'PUBLIC',  '2025-05-04', 'dave',  100),
+            (105, 'Night run',     'Workout', 'Secret', 'PRIVATE', '2025-05-05', 'dave',  100)
+        """);
+        entryDao.rebuildSearchIndex();
+
+        var request = GetAuthEntity("carol", "carol");
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries/search?field=title&query=RUN",
+            HttpMethod.GET,
+            request,
+            Entry[].class
+        );
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        Entry[] entries = result.getBody();
+        assertNotNull(entries);
+        // dave's private entry (105) is not visible to carol
+        assertEquals(List.of(101L, 102L, 104L), Arrays.stream(entries).map(Entry::getId).sorted().toList());
+    }
+
+    // Test that writes rolled back do not change the search index
+    @Test
+    @DisplayName("GET /api/entries/search?field=title ignores rolled-back writes")
+    public void searchIgnoresRolledBackWrites() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Morning Run', 'Workout', 'Easy', 'PRIVATE', '2025-05-01', 'carol', 100)
+        """);
+        entryDao.rebuildSearchIndex();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entryDao.deleteById(101L);
+            Entry added = newEntry("Evening Run", Visibility.PRIVATE);
+            added.setCreatedBy("carol");
+            entryDao.save(added);
+            status.setRollbackOnly();
+        });
+
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries/search?field=title&query=RUN",
+            HttpMethod.GET,
+            GetAuthEntity("carol", "carol"),
+            Entry[].class
+        );
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(List.of(101L), Arrays.stream(result.getBody()).map(Entry::getId).toList());
+    }
+
+    // Test creating several entries in one batch request
+    @Test
+    @DisplayName("POST /api/entries/batch creates every entry for carol")
+    public void postEntryBatchCreatesAll() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+
+        EntryGroup grp = new EntryGroup();
+        grp.setId(100L);
+        List<Entry> batch = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Entry entry = new Entry();
+            entry.setTitle("Run " + i);
+            entry.setType(EntryType.Workout);
+            entry.setDescription("Synced run " + i);
+            entry.setVisibility(Visibility.PRIVATE);
+            entry.setDate(Date.valueOf("2025-05-0" + i));
+            entry.setGroup(grp);
+            batch.add(entry);
+        }
+
+        var request = GetAuthEntity("carol", "carol", batch);
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries/batch",
+            HttpMethod.POST,
+            request,
+            Long[].class
+        );
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        Long[] ids = result.getBody();
+        assertNotNull(ids);
+        assertEquals(3, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals("Run " + (i + 1), jdbc.queryForObject("select title from entries where id = ?", String.class, ids[i]));
+            assertEquals("carol", jdbc.queryForObject("select created_by from entries where id = ?", String.class, ids[i]));
+        }
+    }
+
+    // Test that an empty batch is rejected
+    @Test
+    @DisplayName("POST /api/entries/batch with no entries returns 400")
+    public void postEntryBatchRejectsEmpty() {
+        getJdbcTemplate().update("insert into users (username, password) values ('carol', 'carol')");
+
+        var request = GetAuthEntity("carol", "carol", new ArrayList<Entry>());
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries/batch",
+            HttpMethod.POST,
+            request,
+            String.class
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    // Test deleting several entries at once, with per-id outcomes
+    @Test
+    @DisplayName("DELETE /api/entries with several ids deletes only the caller's entries")
+    public void deleteEntriesBulk() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Run',  'Workout', 'Easy',  'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'Swim', 'Workout', 'Pool',  'PRIVATE', '2025-05-02', 'carol', 100),
+            (103, 'Ride', 'Workout', 'Hills', 'PUBLIC',  '2025-05-03', 'dave',  100)
+        """);
+
+        var request = GetAuthEntity("carol", "carol", List.of(101L, 102L, 103L, 999L));
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/entries",
+            HttpMethod.DELETE,
+            request,
+            BulkResult[].class
+        );
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        BulkResult[] outcomes = result.getBody();
+        assertNotNull(outcomes);
+        assertEquals(4, outcomes.length);
+        assertEquals(BulkResult.Status.OK, outcomes[0].getStatus());
+        assertEquals(BulkResult.Status.OK, outcomes[1].getStatus());
+        assertEquals(BulkResult.Status.FORBIDDEN, outcomes[2].getStatus());
+        assertEquals(BulkResult.Status.NOT_FOUND, outcomes[3].getStatus());
+        assertEquals(List.of(103L), jdbc.queryForList("select id from entries order by id", Long.class));
+    }
+
+    // Test moving several entries into another group at once
+    @Test
+    @DisplayName("PATCH /api/entries/group moves only the caller's entries")
+    public void moveEntriesBulk() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (200, 'Archive', 'PRIVATE', 'carol')");
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Run',  'Workout', 'Easy',  'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'Ride', 'Workout', 'Hills', 'PUBLIC',  '2025-05-02', 'dave',  100)
+        """);
+
+        MoveEntriesRequest move = new MoveEntriesRequest();
+        move.setIds(List.of(101L, 102L));
+        move.setGroupId(200L);
+
+        // The default request factory cannot send PATCH, so use the JDK HTTP client here
+        var client = new RestTemplate(new JdkClientHttpRequestFactory());
+        var result = client.exchange(
+            getBaseUrl() + "/api/entries/group",
+            HttpMethod.PATCH,
+            GetAuthEntity("carol", "carol", move),
+            BulkResult[].class
+        );
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        BulkResult[] outcomes = result.getBody();
+        assertNotNull(outcomes);
+        assertEquals(BulkResult.Status.OK, outcomes[0].getStatus());
+        assertEquals(BulkResult.Status.FORBIDDEN, outcomes[1].getStatus());
+        assertEquals(200L, jdbc.queryForObject("select group_id from entries where id = 101", Long.class));
+        assertEquals(100L, jdbc.queryForObject("select group_id from entries where id = 102", Long.class));
+    }
+
+    // Test that moving an entry bumps its version, so an edit based on the version before the move cannot undo it
+    @Test
+    @DisplayName("PUT /api/entries/101 with the version from before a move returns 409")
+    public void putEntryAfterMoveRejectsStaleVersion() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (200, 'Archive', 'PRIVATE', 'carol')");
+        jdbc.update("insert into entries (id, title, type, visibility, date, created_by, group_id) values (101, 'a', 'Workout', 'PRIVATE', '2025-05-01', 'carol', 100)");
+
+        MoveEntriesRequest move = new MoveEntriesRequest();
+        move.setIds(List.of(101L));
+        move.setGroupId(200L);
+        var client = new RestTemplate(new JdkClientHttpRequestFactory());
+        assertEquals(HttpStatus.OK, client.exchange(getBaseUrl() + "/api/entries/group", HttpMethod.PATCH,
+            GetAuthEntity("carol", "carol", move), BulkResult[].class).getStatusCode());
+        assertEquals(1, jdbc.queryForObject("select version from entries where id = 101", Integer.class));
+
+        // A client that read version 0 still has the entry in group 100
+        Entry stale = newEntry("Stale", Visibility.PRIVATE);
+        stale.setVersion(0);
+        assertEquals(HttpStatus.CONFLICT, restTemplate.exchange(getBaseUrl() + "/api/entries/101", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", stale), String.class).getStatusCode());
+        assertEquals(200L, jdbc.queryForObject("select group_id from entries where id = 101", Long.class));
+    }
+
+    // Test that an unchanged entry list is answered with 304, and only the affected users' lists change
+    @Test
+    @DisplayName("GET /api/entries with a matching If-None-Match returns 304")
+    public void getEntriesConditional() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Run',  'Workout', 'Easy',  'PUBLIC', '2025-05-01', 'carol', 100),
+            (102, 'Ride', 'Workout', 'Hills', 'PRIVATE', '2025-05-02', 'dave', 100)
+        """);
+        entryDao.rebuildSearchIndex();
+
+        var first = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, GetAuthEntity("dave", "dave"), Entry[].class);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(2, first.getBody().length);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(GetAuthEntity("dave", "dave").getHeaders());
+        headers.setIfNoneMatch(etag);
+        var conditional = new HttpEntity<>(headers);
+
+        var unchanged = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, conditional, Entry[].class);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+
+        // Another user's private entry does not change dave's list
+        restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", newEntry("Swim", Visibility.PRIVATE)), Entry.class);
+        assertEquals(HttpStatus.NOT_MODIFIED,
+            restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, conditional, Entry[].class).getStatusCode());
+
+        // A public one does
+        restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", newEntry("Hike", Visibility.PUBLIC)), Entry.class);
+        var changed = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, conditional, Entry[].class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertEquals(3, changed.getBody().length);
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    // Test that the shared public entries stay in step with entry and group writes
+    @Test
+    @DisplayName("GET /api/entries merges the shared public entries after writes")
+    public void getEntriesMergesPublicFeed() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Run',  'Workout', 'Easy',  'PUBLIC',  '2025-05-01', 'carol', 100),
+            (102, 'Ride', 'Workout', 'Hills', 'PRIVATE', '2025-05-02', 'dave',  100),
+            (103, 'Swim', 'Workout', 'Pool',  'PRIVATE', '2025-05-03', 'carol', 100),
+            (104, 'Walk', 'Workout', 'Park',  'PUBLIC',  '2025-05-04', 'dave',  100),
+            (105, 'Yoga', 'Workout', 'Mat',   NULL,      '2025-05-05', 'carol', 100),
+            (1000, 'Row', 'Workout', 'Lake',  'PUBLIC',  '2025-05-06', 'dave',  100)
+        """);
+        entryDao.rebuildSearchIndex();
+
+        // Public entries from everyone plus dave's own private ones, in id order, across feed segments
+        assertEquals(List.of(101L, 102L, 104L, 1000L), entryIds("dave"));
+        // An entry without a visibility is not public, but still its owner's
+        assertEquals(List.of(101L, 103L, 104L, 105L, 1000L), entryIds("carol"));
+
+        // Carol makes her public entry private and publishes a new one
+        Entry hidden = newEntry("Run", Visibility.PRIVATE);
+        restTemplate.exchange(getBaseUrl() + "/api/entries/101", HttpMethod.PUT, GetAuthEntity("carol", "carol", hidden), Entry.class);
+        Long created = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", newEntry("Hike", Visibility.PUBLIC)), Entry.class).getBody().getId();
+        assertEquals(List.of(102L, 104L, 1000L, created), entryIds("dave"));
+        assertEquals(List.of(103L, 104L, 101L, 105L, 1000L, created).stream().sorted().toList(), entryIds("carol"));
+
+        // Renaming the group shows up in the public entries too
+        EntryGroup renamed = new EntryGroup();
+        renamed.setName("Long runs");
+        renamed.setVisibility(Visibility.PUBLIC);
+        restTemplate.exchange(getBaseUrl() + "/api/groups/100", HttpMethod.PUT, GetAuthEntity("carol", "carol", renamed), EntryGroup.class);
+        Entry[] entries = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, GetAuthEntity("dave", "dave"), Entry[].class).getBody();
+        Arrays.stream(entries).forEach(e -> assertEquals("Long runs", e.getGroup().getName()));
+    }
+
+    // Test that an update carrying the version that was read wins once, and a second one with the same version gets 409
+    @Test
+    @DisplayName("PUT /api/entries/101 with a stale version returns 409")
+    public void putEntryRejectsStaleVersion() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("insert into entries (id, title, type, visibility, date, created_by, group_id) values (101, 'a', 'Workout', 'PRIVATE', '2025-05-01', 'carol', 100)");
+
+        Entry first = newEntry("First", Visibility.PRIVATE);
+        first.setVersion(0);
+        var result = restTemplate.exchange(getBaseUrl() + "/api/entries/101", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", first), Entry.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1, result.getBody().getVersion());
+        assertEquals("carol", result.getBody().getCreatedBy());
+
+        // Another client still holding version 0 must not overwrite the first update
+        Entry second = newEntry("Second", Visibility.PRIVATE);
+        second.setVersion(0);
+        assertEquals(HttpStatus.CONFLICT, restTemplate.exchange(getBaseUrl() + "/api/entries/101", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", second), String.class).getStatusCode());
+        assertEquals("First", jdbc.queryForObject("select title from entries where id = 101", String.class));
+        assertEquals(1, jdbc.queryForObject("select version from entries where id = 101", Integer.class));
+
+        // Without a version the entry is overwritten, and the version still moves on
+        var unversioned = restTemplate.exchange(getBaseUrl() + "/api/entries/101", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", newEntry("Third", Visibility.PRIVATE)), Entry.class);
+        assertEquals(2, unversioned.getBody().getVersion());
+
+        // A versioned update of an entry that does not exist is 404, not 409
+        Entry missing = newEntry("Missing", Visibility.PRIVATE);
+        missing.setVersion(0);
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.exchange(getBaseUrl() + "/api/entries/999", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", missing), String.class).getStatusCode());
+    }
+
+    // Test that activity statistics follow entry creates, updates and deletes
+    @Test
+    @DisplayName("GET /api/entries/stats counts entries per day, week and month")
+    public void getEntryStats() {
+        insertUsersAndGroup();
+
+        List<Entry> batch = List.of(
+            datedEntry(EntryType.Workout, "2025-05-05"),
+            datedEntry(EntryType.Workout, "2025-05-07"),
+            datedEntry(EntryType.Diet, "2025-05-07"),
+            datedEntry(EntryType.Diet, "2025-06-02"));
+        Long[] ids = restTemplate.exchange(getBaseUrl() + "/api/entries/batch", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", batch), Long[].class).getBody();
+
+        // Drop the June entry and turn the May Diet entry into a Symptom
+        restTemplate.exchange(getBaseUrl() + "/api/entries/" + ids[3], HttpMethod.DELETE, GetAuthEntity("carol", "carol"), Void.class);
+        Entry changed = datedEntry(EntryType.Symptom, "2025-05-07");
+        changed.setTitle("Changed");
+        restTemplate.exchange(getBaseUrl() + "/api/entries/" + ids[2], HttpMethod.PUT, GetAuthEntity("carol", "carol", changed), Entry.class);
+
+        StatsBucket[] days = stats("carol", "day");
+        assertEquals(2, days.length);
+        assertEquals(LocalDate.of(2025, 5, 5), days[0].getStart());
+        assertEquals(Map.of(EntryType.Workout, 1L), days[0].getCounts());
+        assertEquals(Map.of(EntryType.Workout, 1L, EntryType.Symptom, 1L), days[1].getCounts());
+
+        StatsBucket[] weeks = stats("carol", "week");
+        assertEquals(1, weeks.length);
+        assertEquals(LocalDate.of(2025, 5, 5), weeks[0].getStart());
+        assertEquals(Map.of(EntryType.Workout, 2L, EntryType.Symptom, 1L), weeks[0].getCounts());
+
+        StatsBucket[] months = stats("carol", "month");
+        assertEquals(1, months.length);
+        assertEquals(LocalDate.of(2025, 5, 1), months[0].getStart());
+
+        // Only the caller's own entries are counted, and unknown granularities are rejected
+        assertEquals(0, stats("dave", "day").length);
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(getBaseUrl() + "/api/entries/stats?granularity=year",
+            HttpMethod.GET, GetAuthEntity("carol", "carol"), String.class).getStatusCode());
+    }
+
+    // Test that an admin can recompute the statistics after entries were written with plain SQL
+    @Test
+    @DisplayName("POST /api/admin/entry-stats/rebuild counts entries written outside the DAO")
+    public void rebuildEntryStats() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+        jdbc.update("""
+            insert into entries (id, title, type, visibility, date, created_by, group_id) values
+            (101, 'a', 'Workout', 'PRIVATE', '2025-05-01', 'dave', 100),
+            (102, 'b', 'Workout', 'PRIVATE', '2025-05-01', 'dave', 100),
+            (103, 'c', 'Diet',    'PRIVATE', '2025-05-02', 'dave', 100)
+        """);
+        assertEquals(0, stats("dave", "day").length);
+
+        // Only admins may rebuild
+        assertEquals(HttpStatus.FORBIDDEN, restTemplate.exchange(getBaseUrl() + "/api/admin/entry-stats/rebuild", HttpMethod.POST,
+            GetAuthEntity("dave", "dave"), Void.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(getBaseUrl() + "/api/admin/entry-stats/rebuild", HttpMethod.POST,
+            GetAuthEntity("carol", "carol"), Void.class).getStatusCode());
+
+        StatsBucket[] days = stats("dave", "day");
+        assertEquals(2, days.length);
+        assertEquals(Map.of(EntryType.Workout, 2L), days[0].getCounts());
+        assertEquals(Map.of(EntryType.Diet, 1L), days[1].getCounts());
+    }
+
+    // Returns the user's activity statistics at the given granularity
+    private StatsBucket[] stats(String username, String granularity) {
+        return restTemplate.exchange(getBaseUrl() + "/api/entries/stats?granularity=" + granularity, HttpMethod.GET,
+            GetAuthEntity(username, username), StatsBucket[].class).getBody();
+    }
+
+    // Builds a private entry of the given type and day in group 100
+    private static Entry datedEntry(EntryType type, String date) {
+        Entry entry = newEntry(type.name(), Visibility.PRIVATE);
+        entry.setType(type);
+        entry.setDate(Date.valueOf(date));
+        return entry;
+    }
+
+    // Test that date and type filters are answered from indexes, and return the matching entries
+    @Test
+    @DisplayName("GET /api/entries?from=&to=&type= filters through indexes")
+    public void getEntriesFilteredUsesIndexes() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+
+        // Enough rows, spread over several years, for the optimizer to prefer the indexes over a scan
+        List<Object[]> rows = new ArrayList<>();
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int n = 0; n < 2000; n++) {
+            rows.add(new Object[] {
+                "Entry " + n,
+                n % 50 == 0 ? "Symptom" : "Workout",
+                n % 10 == 0 ? "PUBLIC" : "PRIVATE",
+                Date.valueOf(start.plusDays(n)),
+                n % 2 == 0 ? "carol" : "dave"
+            });
+        }
+        jdbc.batchUpdate("insert into entries (title, type, visibility, date, created_by, group_id) values (?, ?, ?, ?, ?, 100)", rows);
+        jdbc.execute("analyze table entries");
+
+        LocalDate from = LocalDate.of(2022, 3, 1);
+        LocalDate to = LocalDate.of(2022, 5, 31);
+        List<List<java.util.Map<String, Object>>> plans = List.of(
+            entryDao.explainFiltered("admin", true, from, to, null),
+            entryDao.explainFiltered("admin", true, null, null, EntryType.Symptom),
+            entryDao.explainFiltered("dave", false, from, to, EntryType.Workout),
+            entryDao.explainFiltered("dave", false, null, null, EntryType.Symptom));
+        for (var plan : plans) {
+            plan.stream()
+                .filter(row -> "e".equals(row.get("table")))
+                .forEach(row -> assertNotEquals("ALL", row.get("type"), "full scan of entries: " + plan));
+        }
+
+        // The filters select exactly the matching visible entries
+        Entry[] workouts = restTemplate.exchange(getBaseUrl() + "/api/entries?from=" + from + "&to=" + to + "&type=Workout",
+            HttpMethod.GET, GetAuthEntity("dave", "dave"), Entry[].class).getBody();
+        assertEquals(jdbc.queryForObject("""
+            select count(*) from entries where (created_by = 'dave' or visibility = 'PUBLIC')
+            and date between ? and ? and type = 'Workout'
+        """, Integer.class, Date.valueOf(from), Date.valueOf(to)), workouts.length);
+        Arrays.stream(workouts).forEach(e -> assertEquals(EntryType.Workout, e.getType()));
+
+        Entry[] symptoms = restTemplate.exchange(getBaseUrl() + "/api/entries/user/carol?type=Symptom",
+            HttpMethod.GET, GetAuthEntity("dave", "dave"), Entry[].class).getBody();
+        assertEquals(40, symptoms.length);
+    }
+
+    // Test that entries of one group in the same result share a single, fully mapped group
+    @Test
+    @DisplayName("EntryDao.getAll maps entries of one group to one shared group")
+    public void entriesOfOneGroupShareTheirGroup() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("""
+            insert into entry_groups (id, name, description, visibility, created_by) values
+            (100, 'Runs', 'Outdoors', 'PUBLIC', 'carol'),
+            (101, 'Meals', null, 'PRIVATE', 'carol')
+        """);
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Run',   'Workout', 'Easy',  'PUBLIC',  '2025-05-01', 'carol', 100),
+            (102, 'Lunch', 'Diet',    null,    'PRIVATE', '2025-05-02', 'carol', 101),
+            (103, 'Swim',  'Workout', 'Pool',  'PRIVATE', '2025-05-03', 'carol', 100)
+        """);
+
+        Map<Long, Entry> entries = new HashMap<>();
+        entryDao.getAll().forEach(entry -> entries.put(entry.getId(), entry));
+
+        Entry run = entries.get(101L);
+        Entry lunch = entries.get(102L);
+        assertSame(run.getGroup(), entries.get(103L).getGroup());
+        assertNotSame(run.getGroup(), lunch.getGroup());
+
+        assertEquals(EntryType.Diet, lunch.getType());
+        assertEquals(Visibility.PRIVATE, lunch.getVisibility());
+        assertNull(lunch.getDescription());
+        assertEquals(Date.valueOf("2025-05-02"), lunch.getDate());
+        assertEquals(0, lunch.getVersion());
+        assertEquals("Meals", lunch.getGroup().getName());
+        assertNull(lunch.getGroup().getDescription());
+        assertEquals(Visibility.PRIVATE, lunch.getGroup().getVisibility());
+        assertEquals(100L, run.getGroup().getId());
+        assertEquals("Outdoors", run.getGroup().getDescription());
+        assertEquals(Visibility.PUBLIC, run.getGroup().getVisibility());
+        assertEquals("carol", run.getGroup().getCreatedBy());
+    }
+
+    // Test that a search loading its rows in several chunks still maps each group once
+    @Test
+    @DisplayName("EntryDao.search shares one group across the chunks of ids it loads")
+    public void searchSharesGroupsAcrossChunks() {
+        var jdbc = getJdbcTemplate();
+        insertUsersAndGroup();
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            rows.add(new Object[] {id, "Run " + id});
+        }
+        jdbc.batchUpdate("insert into entries (id, title, type, visibility, date, created_by, group_id) "
+            + "values (?, ?, 'Workout', 'PRIVATE', '2025-05-01', 'carol', 100)", rows);
+        entryDao.rebuildSearchIndex();
+
+        // More ids than fit in one IN list, so they are loaded in two queries
+        List<Entry> entries = entryDao.search("title", "run", "carol", false);
+        assertEquals(1001, entries.size());
+        assertSame(entries.get(0).getGroup(), entries.get(1000).getGroup());
+    }
+
+    // Test that ?shape=normalized sends each group once, with the entries referring to it by id
+    @Test
+    @DisplayName("GET /api/entries?shape=normalized sends each group once")
+    public void getEntriesNormalized() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("""
+            insert into entry_groups (id, name, description, visibility, created_by) values
+            (100, 'Runs', 'Every run of the year, with distance, pace and how it felt afterwards', 'PRIVATE', 'carol'),
+            (101, 'Meals', null, 'PRIVATE', 'carol')
+        """);
+        jdbc.update("""
+            insert into entries (id, title, type, description, visibility, date, created_by, group_id) values
+            (101, 'Run',   'Workout', 'Easy',   'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'Lunch', 'Diet',    'Salad',  'PRIVATE', '2025-05-02', 'carol', 101),
+            (103, 'Swim',  'Workout', 'Pool',   'PRIVATE', '2025-05-03', 'carol', 100),
+            (104, 'Hike',  'Workout', 'Hills',  'PRIVATE', '2025-05-04', 'carol', 100)
+        """);
+        entryDao.rebuildSearchIndex();
+
+        var full = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), Entry[].class);
+        var normalized = restTemplate.exchange(getBaseUrl() + "/api/entries?shape=normalized", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), NormalizedEntries.class);
+        assertEquals(HttpStatus.OK, normalized.getStatusCode());
+        assertNotEquals(full.getHeaders().getETag(), normalized.getHeaders().getETag());
+
+        // Same entries in the same order, each pointing at its group
+        NormalizedEntries body = normalized.getBody();
+        assertEquals(Arrays.stream(full.getBody()).map(Entry::getId).toList(),
+            body.getEntries().stream().map(Entry::getId).toList());
+        for (NormalizedEntries.Item entry : body.getEntries()) {
+            assertNull(entry.getGroup());
+            assertNotNull(body.getGroups().get(entry.getGroupId()));
+        }
+        assertEquals(100L, body.getEntries().get(0).getGroupId());
+        assertEquals("Runs", body.getGroups().get(100L).getName());
+        assertEquals(2, body.getGroups().size());
+
+        // The long group description is sent once instead of with every entry
+        String fullJson = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), String.class).getBody();
+        String normalizedJson = restTemplate.exchange(getBaseUrl() + "/api/entries?shape=normalized", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), String.class).getBody();
+        assertEquals(3, fullJson.split("with distance, pace", -1).length - 1);
+        assertEquals(1, normalizedJson.split("with distance, pace", -1).length - 1);
+
+        // Search results can be normalized the same way
+        NormalizedEntries workouts = restTemplate.exchange(getBaseUrl() + "/api/entries/search?field=type&query=Workout&shape=normalized",
+            HttpMethod.GET, GetAuthEntity("carol", "carol"), NormalizedEntries.class).getBody();
+        assertEquals(List.of(101L, 103L, 104L), workouts.getEntries().stream().map(Entry::getId).sorted().toList());
+        assertEquals(List.of(100L), List.copyOf(workouts.getGroups().keySet()));
+    }
+
+    // Returns the ids of the entries the user sees on GET /api/entries
+    private List<Long> entryIds(String username) {
+        Entry[] entries = restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET,
+            GetAuthEntity(username, username), Entry[].class).getBody();
+        return Arrays.stream(entries).map(Entry::getId).toList();
+    }
+
+    // Inserts the users carol and dave, and carol's public group 100 ("Runs") that newEntry and datedEntry use
+    private void insertUsersAndGroup() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (100, 'Runs', 'PUBLIC', 'carol')");
+    }
+
+    // Builds a new entry in group 100
+    private static Entry newEntry(String title, Visibility visibility) {
+        Entry entry = new Entry();
+        entry.setTitle(title);
+        entry.setType(EntryType.Workout);
+        entry.setVisibility(visibility);
+        entry.setDate(Date.valueOf("2025-05-03"));
+        EntryGroup group = new EntryGroup();
+        group.setId(100L);
+        entry.setGroup(group);
+        return entry;
+    }
 }
@@ -0,0 +1,272 @@
+// Import static assertion methods from JUnit
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.example.SpringBootApplication;
+import org.example.daos.EntryGroupDao;
+import org.example.daos.PublicEntryFeed;
+import org.example.models.CacheStats;
+import org.example.models.EntryGroup;
+import org.example.models.EntryGroup.Visibility;
+import org.example.services.ListVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, // Launches a web environment with a random port
+    classes = SpringBootApplication.class // Runs the actual Spring Boot app for integration testing
+)
+@Import(FinalTestConfiguration.class) // Injects test-specific config (e.g. mock beans or test data setup)
+public class EntryGroupEndpointTests extends WebStoreTest {
+
+    @Autowired
+    private ListVersions listVersions;
+
+    @Autowired
+    private PublicEntryFeed publicEntryFeed;
+
+    // Builds a group with the given id (null for a new group) and name
+    private static EntryGroup group(Long id, String name) {
+        EntryGroup group = new EntryGroup();
+        group.setId(id);
+        group.setName(name);
+        group.setDescription(name + " notes");
+        group.setVisibility(Visibility.PRIVATE);
+        return group;
+    }
+
+    // Test that a group list read before a write committed, but cached after it, is not served afterwards
+    @Test
+    public void groupListLoadedBeforeWriteIsNotServedAfter() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Old', 'PRIVATE', 'carol')");
+
+        // Once the list query has read its rows, and before the list is cached, another request adds a group
+        AtomicBoolean raced = new AtomicBoolean();
+        AtomicReference<EntryGroupDao> dao = new AtomicReference<>();
+        DataSource racing = afterQuery("WHERE created_by", () -> {
+            if (raced.compareAndSet(false, true)) {
+                EntryGroup fresh = group(null, "Fresh");
+                fresh.setCreatedBy("carol");
+                dao.get().save(fresh);
+            }
+        });
+        dao.set(new EntryGroupDao(racing, listVersions, publicEntryFeed, 100, Duration.ofMinutes(1)));
+
+        assertEquals(1, dao.get().getByUserId("carol", null).size());
+        assertTrue(raced.get());
+        assertEquals(2, dao.get().getByUserId("carol", null).size());
+    }
+
+    // Returns the test DataSource, running the action whenever a query containing the text has been read and closed
+    private DataSource afterQuery(String text, Runnable action) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && ((String) args[0]).contains(text)) {
+                            PreparedStatement statement = (PreparedStatement) result;
+                            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                                (statementProxy, statementMethod, statementArgs) -> {
+                                    Object executed = invoke(statement, statementMethod, statementArgs);
+                                    if (statementMethod.getName().equals("executeQuery")) {
+                                        ResultSet resultSet = (ResultSet) executed;
+                                        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class},
+                                            (rsProxy, rsMethod, rsArgs) -> {
+                                                Object value = invoke(resultSet, rsMethod, rsArgs);
+                                                if (rsMethod.getName().equals("close")) {
+                                                    action.run();
+                                                }
+                                                return value;
+                                            });
+                                    }
+                                    return executed;
+                                });
+                        }
+                        return result;
+                    });
+            }
+        };
+    }
+
+    // Calls a JDBC method on the real object, rethrowing what it threw
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Test restoring deleted groups (keeping their ids) and creating new ones in one batch
+    @Test
+    public void postGroupBatchRestoresAndCreates() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Restored', 'PRIVATE', 'carol')");
+        restTemplate.exchange(getBaseUrl() + "/api/groups/150", HttpMethod.DELETE, GetAuthEntity("carol", "carol"), Void.class);
+
+        var request = GetAuthEntity("carol", "carol", List.of(group(150L, "Restored"), group(null, "Fresh")));
+        var result = restTemplate.exchange(
+            getBaseUrl() + "/api/groups/batch",
+            HttpMethod.POST,
+            request,
+            EntryGroup[].class
+        );
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        EntryGroup[] saved = result.getBody();
+        assertNotNull(saved);
+        assertEquals(2, saved.length);
+        assertEquals(150L, saved[0].getId());
+        assertNotNull(saved[1].getId());
+        assertEquals("carol", saved[1].getCreatedBy());
+        assertEquals(0, saved[0].getVersion());
+        assertEquals(0, saved[1].getVersion());
+        assertEquals("Restored", jdbc.queryForObject("select name from entry_groups where id = 150", String.class));
+        assertEquals("Fresh", jdbc.queryForObject("select name from entry_groups where id = ?", String.class, saved[1].getId()));
+
+        // A deleted group can only be restored once
+        var again = restTemplate.exchange(getBaseUrl() + "/api/groups/batch", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", List.of(group(150L, "Twice"))), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, again.getStatusCode());
+    }
+
+    // Test that ids the caller did not delete are refused, leaving nothing saved and the id sequence untouched
+    @Test
+    public void postGroupBatchOnlyRestoresOwnDeletedGroups() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("""
+            insert into entry_groups (id, name, visibility, created_by) values
+            (150, 'Existing', 'PRIVATE', 'carol'), (151, 'Carols', 'PRIVATE', 'carol'), (152, 'Daves', 'PRIVATE', 'dave')
+        """);
+        restTemplate.exchange(getBaseUrl() + "/api/groups/151", HttpMethod.DELETE, GetAuthEntity("carol", "carol"), Void.class);
+        restTemplate.exchange(getBaseUrl() + "/api/groups/152", HttpMethod.DELETE, GetAuthEntity("dave", "dave"), Void.class);
+
+        // Someone else's deleted group, a group still in use, and an id never handed out
+        for (long id : new long[] {152L, 150L, 2147483647L}) {
+            var result = restTemplate.exchange(getBaseUrl() + "/api/groups/batch", HttpMethod.POST,
+                GetAuthEntity("carol", "carol", List.of(group(151L, "Carols"), group(id, "Taken"))), String.class);
+            assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        }
+        assertEquals(1, jdbc.queryForObject("select count(*) from entry_groups", Integer.class));
+
+        // New groups still get the next id, and the rejected restores left carol's deleted group restorable
+        var created = restTemplate.exchange(getBaseUrl() + "/api/groups/batch", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", List.of(group(151L, "Carols"), group(null, "Fresh"))), EntryGroup[].class);
+        assertEquals(HttpStatus.OK, created.getStatusCode());
+        assertEquals(153L, created.getBody()[1].getId());
+    }
+
+    // Test that an admin can restore anyone's deleted group, which goes back to its creator
+    @Test
+    public void postGroupBatchAdminRestoresForCreator() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Daves', 'PRIVATE', 'dave')");
+        restTemplate.exchange(getBaseUrl() + "/api/groups/150", HttpMethod.DELETE, GetAuthEntity("carol", "carol"), Void.class);
+
+        var result = restTemplate.exchange(getBaseUrl() + "/api/groups/batch", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", List.of(group(150L, "Daves"))), EntryGroup[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("dave", result.getBody()[0].getCreatedBy());
+        assertEquals("dave", jdbc.queryForObject("select created_by from entry_groups where id = 150", String.class));
+    }
+
+    // Test versioned group updates: a matching version wins, a stale one gets 409, an unknown id gets 404
+    @Test
+    public void putGroupChecksVersion() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by, version) values (150, 'Existing', 'PRIVATE', 'carol', 3)");
+
+        EntryGroup current = group(null, "Renamed");
+        current.setVersion(3);
+        var result = restTemplate.exchange(getBaseUrl() + "/api/groups/150", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", current), EntryGroup.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(4, result.getBody().getVersion());
+        assertEquals("carol", result.getBody().getCreatedBy());
+
+        EntryGroup stale = group(null, "Lost");
+        stale.setVersion(3);
+        assertEquals(HttpStatus.CONFLICT, restTemplate.exchange(getBaseUrl() + "/api/groups/150", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", stale), String.class).getStatusCode());
+        assertEquals("Renamed", jdbc.queryForObject("select name from entry_groups where id = 150", String.class));
+
+        // Without a version the group is overwritten, as before
+        var unversioned = restTemplate.exchange(getBaseUrl() + "/api/groups/150", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", group(null, "Overwritten")), EntryGroup.class);
+        assertEquals(5, unversioned.getBody().getVersion());
+
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.exchange(getBaseUrl() + "/api/groups/999", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", group(null, "Missing")), String.class).getStatusCode());
+    }
+
+    // Test that cached group lists are served again and dropped when the owner writes a group
+    @Test
+    public void groupListsAreCachedUntilOwnerWrites() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Existing', 'PRIVATE', 'dave')");
+
+        // Dave's list twice (the second read is a hit), and the admin view once
+        assertEquals(1, restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.GET,
+            GetAuthEntity("dave", "dave"), EntryGroup[].class).getBody().length);
+        assertEquals(1, restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.GET,
+            GetAuthEntity("dave", "dave"), EntryGroup[].class).getBody().length);
+        assertEquals(1, restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), EntryGroup[].class).getBody().length);
+
+        // A new group shows up in both the owner's list and the admin view straight away
+        var created = restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.POST,
+            GetAuthEntity("dave", "dave", group(null, "Fresh")), EntryGroup.class);
+        assertEquals(HttpStatus.OK, created.getStatusCode());
+        assertEquals(2, restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.GET,
+            GetAuthEntity("dave", "dave"), EntryGroup[].class).getBody().length);
+        assertEquals(2, restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), EntryGroup[].class).getBody().length);
+
+        // So does a deletion
+        restTemplate.exchange(getBaseUrl() + "/api/groups/150", HttpMethod.DELETE, GetAuthEntity("dave", "dave"), Void.class);
+        assertEquals(1, restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.GET,
+            GetAuthEntity("dave", "dave"), EntryGroup[].class).getBody().length);
+
+        var stats = restTemplate.exchange(getBaseUrl() + "/api/admin/caches", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), new ParameterizedTypeReference<Map<String, CacheStats>>() {});
+        assertTrue(stats.getBody().get("groupLists").getHitCount() >= 1);
+    }
+}
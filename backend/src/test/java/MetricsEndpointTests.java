@@ -0,0 +1,97 @@
+// Import static assertion methods from JUnit
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.example.SpringBootApplication;
+import org.example.models.EntryGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, // Launches a web environment with a random port
+    classes = SpringBootApplication.class // Runs the actual Spring Boot app for integration testing
+)
+@Import(FinalTestConfiguration.class) // Injects test-specific config (e.g. mock beans or test data setup)
+public class MetricsEndpointTests extends WebStoreTest {
+
+    // Random port Actuator listens on
+    @LocalManagementPort
+    private int managementPort;
+
+    // Registry the DAO and SQL meters are recorded in
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Reads the value of one statistic (COUNT, TOTAL, ...) of a meter from /actuator/metrics (0 before its first use)
+    @SuppressWarnings("unchecked")
+    private double statistic(String query, String statistic) {
+        var result = restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/metrics/" + query, Map.class);
+        if (result.getStatusCode() == HttpStatus.NOT_FOUND) {
+            return 0;
+        }
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        var measurements = (List<Map<String, Object>>) result.getBody().get("measurements");
+        return measurements.stream()
+            .filter(m -> statistic.equals(m.get("statistic")))
+            .mapToDouble(m -> ((Number) m.get("value")).doubleValue())
+            .findFirst()
+            .orElseThrow();
+    }
+
+    // Test that a DAO method call is timed, with the statements and rows it caused, and served by Actuator
+    @Test
+    public void daoMethodCallsAreMeasured() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Runs', 'PRIVATE', 'carol'), (151, 'Meals', 'PRIVATE', 'carol')");
+        entryGroupDao.clearCache();
+
+        String method = "dao.method?tag=dao:EntryGroupDao&tag=method:getByUserId";
+        double callsBefore = statistic(method, "COUNT");
+        double rowsBefore = statistic("dao.method.rows?tag=dao:EntryGroupDao&tag=method:getByUserId", "TOTAL");
+
+        var result = restTemplate.exchange(getBaseUrl() + "/api/groups", HttpMethod.GET, GetAuthEntity("carol", "carol"), EntryGroup[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertNotNull(result.getBody());
+        assertEquals(2, result.getBody().length);
+
+        assertEquals(callsBefore + 1, statistic(method, "COUNT"));
+        assertEquals(rowsBefore + 2, statistic("dao.method.rows?tag=dao:EntryGroupDao&tag=method:getByUserId", "TOTAL"));
+        assertTrue(statistic("dao.method.statements?tag=dao:EntryGroupDao&tag=method:getByUserId", "TOTAL") >= 1);
+    }
+
+    // Test that statements differing only in the length of an IN list share one template
+    @Test
+    public void sqlStatementsAreGroupedByTemplate() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Runs', 'PRIVATE', 'carol'), (151, 'Meals', 'PRIVATE', 'carol')");
+
+        jdbc.queryForList("select id from entry_groups where name <> 'metrics' and id in (?, ?)", Long.class, 150, 151);
+        jdbc.queryForList("select id from entry_groups\n  where name <> 'metrics' and id in (?,?,?)", Long.class, 150, 151, 152);
+
+        Timer timer = meterRegistry.find("sql.statement")
+            .tag("sql", "select id from entry_groups where name <> 'metrics' and id in (?, ...)")
+            .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertEquals(4.0, meterRegistry.find("sql.statement.rows")
+            .tag("sql", "select id from entry_groups where name <> 'metrics' and id in (?, ...)")
+            .summary()
+            .totalAmount());
+    }
+}
@@ -0,0 +1,108 @@
+// Import static assertion methods from JUnit
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.SpringBootApplication;
+import org.example.models.Entry;
+import org.example.models.EntryGroup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, // Launches a web environment with a random port
+    classes = SpringBootApplication.class, // Runs the actual Spring Boot app for integration testing
+    properties = "reactive.page-size=2" // Small pages, so every stream spans several queries
+)
+@Import(FinalTestConfiguration.class) // Injects test-specific config (e.g. mock beans or test data setup)
+@ActiveProfiles("reactive") // Registers the R2DBC read endpoints
+public class ReactiveEndpointTests extends WebStoreTest {
+
+    // Used to read the streamed JSON lines
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Sends an authenticated GET asking for newline-delimited JSON and parses each line
+    private <T> List<T> stream(String path, String username, Class<T> type) throws Exception {
+        var headers = new HttpHeaders();
+        headers.putAll(GetAuthEntity(username, username).getHeaders());
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        var result = restTemplate.exchange(getBaseUrl() + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        List<T> items = new ArrayList<>();
+        if (result.getBody() != null) {
+            for (String line : result.getBody().split("\n")) {
+                if (!line.isBlank()) {
+                    items.add(mapper.readValue(line, type));
+                }
+            }
+        }
+        return items;
+    }
+
+    // Test streaming the caller's own and public entries, newest first, across several pages
+    @Test
+    @DisplayName("GET /api/reactive/entries streams own and public entries newest first")
+    public void streamEntries() throws Exception {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (100, 'Runs', 'PUBLIC', 'carol')");
+        jdbc.update("""
+            insert into entries (id, title, type, visibility, date, created_by, group_id) values
+            (101, 'a', 'Workout', 'PRIVATE', '2025-05-01', 'carol', 100),
+            (102, 'b', 'Diet',    'PUBLIC',  '2025-05-03', 'dave',  100),
+            (103, 'c', 'Other',   'PRIVATE', '2025-05-03', 'dave',  100),
+            (104, 'd', 'Workout', 'PRIVATE', '2025-05-03', 'carol', 100),
+            (105, 'e', 'Symptom', 'PUBLIC',  '2025-05-02', 'carol', 100),
+            (106, 'f', 'Diet',    'PRIVATE', '2025-05-04', 'carol', 100)
+        """);
+
+        List<Entry> entries = stream("/api/reactive/entries", "carol", Entry.class);
+
+        assertEquals(List.of(106L, 104L, 102L, 105L, 101L), entries.stream().map(Entry::getId).toList());
+        assertEquals("Runs", entries.get(0).getGroup().getName());
+    }
+
+    // Test streaming only the caller's groups, in id order, across several pages
+    @Test
+    @DisplayName("GET /api/reactive/groups streams the caller's groups")
+    public void streamGroups() throws Exception {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("""
+            insert into entry_groups (id, name, visibility, created_by) values
+            (100, 'Runs',  'PRIVATE', 'carol'),
+            (101, 'Meals', 'PRIVATE', 'dave'),
+            (102, 'Sleep', 'PUBLIC',  'carol'),
+            (103, 'Lifts', 'PRIVATE', 'carol')
+        """);
+
+        List<EntryGroup> groups = stream("/api/reactive/groups", "carol", EntryGroup.class);
+        assertEquals(List.of(100L, 102L, 103L), groups.stream().map(EntryGroup::getId).toList());
+
+        List<EntryGroup> found = stream("/api/reactive/groups?search=li", "carol", EntryGroup.class);
+        assertEquals(List.of(103L), found.stream().map(EntryGroup::getId).toList());
+    }
+
+    // Test that the streams are not served without a token
+    @Test
+    @DisplayName("GET /api/reactive/entries without a token is unauthorized")
+    public void streamRequiresAuthentication() {
+        var result = restTemplate.getForEntity(getBaseUrl() + "/api/reactive/entries", String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+    }
+}
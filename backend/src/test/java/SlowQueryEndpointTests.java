@@ -0,0 +1,112 @@
+// Import static assertion methods from JUnit
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.example.SpringBootApplication;
+import org.example.models.SlowQuery;
+import org.example.services.SlowQueryLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, // Launches a web environment with a random port
+    classes = SpringBootApplication.class, // Runs the actual Spring Boot app for integration testing
+    properties = "slow-query.threshold=0ms" // Every DAO statement counts as slow
+)
+@Import(FinalTestConfiguration.class) // Injects test-specific config (e.g. mock beans or test data setup)
+public class SlowQueryEndpointTests extends WebStoreTest {
+
+    // Fetches the slow-query log as the given user
+    private SlowQuery[] slowQueries(String username) {
+        var result = restTemplate.exchange(getBaseUrl() + "/api/admin/slow-queries", HttpMethod.GET,
+            GetAuthEntity(username, username), SlowQuery[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        return result.getBody();
+    }
+
+    // Test that a slow DAO statement is logged with its source, parameter types and (soon after) its plan
+    @Test
+    public void slowStatementIsLoggedWithPlan() throws InterruptedException {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Runs', 'PRIVATE', 'carol')");
+
+        assertTrue(entryGroupDao.findById(150L).isPresent());
+
+        // The plan is captured in the background
+        SlowQuery sample = null;
+        for (int attempt = 0; attempt < 50 && (sample == null || sample.getPlan() == null); attempt++) {
+            Thread.sleep(100);
+            sample = Arrays.stream(slowQueries("carol"))
+                .filter(query -> query.getSource().equals("EntryGroupDao.findById"))
+                .findFirst()
+                .orElse(null);
+        }
+
+        assertNotNull(sample);
+        assertEquals(List.of("Long"), sample.getParameters());
+        assertTrue(sample.getSql().contains("entry_groups"));
+        assertNotNull(sample.getPlan(), sample.getPlanError());
+        assertEquals("entry_groups", sample.getPlan().get(0).get("table"));
+    }
+
+    // Test that a plan is captured even while every pooled connection is in use
+    @Test
+    public void planIsCapturedWhilePoolIsBusy() throws SQLException, InterruptedException {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into entry_groups (id, name, visibility, created_by) values (150, 'Runs', 'PRIVATE', 'carol')");
+
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(dataSource.unwrap(HikariDataSource.class).getJdbcUrl());
+        pool.setUsername("root");
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        SlowQueryLog log = new SlowQueryLog(Duration.ZERO, 10);
+        try (Connection busy = pool.getConnection()) {
+            log.record("Test.planIsCapturedWhilePoolIsBusy", "select * from entry_groups where id = ?",
+                List.of("Long"), new Object[] {150L}, 0, "healthTracker", pool);
+
+            SlowQuery sample = log.samples().get(0);
+            for (int attempt = 0; attempt < 50 && sample.getPlan() == null && sample.getPlanError() == null; attempt++) {
+                Thread.sleep(100);
+            }
+            assertNotNull(sample.getPlan(), sample.getPlanError());
+            assertEquals("entry_groups", sample.getPlan().get(0).get("table"));
+        } finally {
+            log.shutdown();
+            pool.close();
+        }
+    }
+
+    // Test that statements not issued by a DAO are left out, and that only admins can read the log
+    @Test
+    public void onlyDaoStatementsAreLoggedForAdmins() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+        jdbc.queryForList("select id from entry_groups where name = 'not from a dao'");
+
+        assertTrue(Arrays.stream(slowQueries("carol")).noneMatch(query -> query.getSql().contains("not from a dao")));
+
+        var result = restTemplate.exchange(getBaseUrl() + "/api/admin/slow-queries", HttpMethod.GET,
+            GetAuthEntity("dave", "dave"), String.class);
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+    }
+}
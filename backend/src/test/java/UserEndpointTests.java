@@ -1,17 +1,34 @@
 // Required imports for testing, HTTP operations, and Spring Boot test setup
 import org.example.SpringBootApplication;
+import org.example.models.CacheStats;
+import org.example.models.CursorPage;
+import org.example.models.HashingStats;
 import org.example.models.User;
+import org.example.services.PasswordHashingService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import support.FinalTestConfiguration;
+import support.LoginRequest;
 import support.WebStoreTest;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Integration tests for the /api/users endpoints,
@@ -229,4 +246,145 @@ public class UserEndpointTests extends WebStoreTest {
         );
         assertEquals(0, user.size());
     }
+
+    /**
+     * Tests that a cached principal is dropped when the user's password changes.
+     */
+    @Test
+    @DisplayName("PUT /api/users/{username}/password should invalidate the cached login")
+    public void updatePasswordShouldInvalidateCachedPrincipal() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('user', 'user')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+
+        // Log in twice so 'user' is cached, then change the password through the API
+        GetAuthEntity("user", "user");
+        GetAuthEntity("user", "user");
+        var update = this.restTemplate.exchange(getBaseUrl() + "/api/users/user/password", HttpMethod.PUT,
+            GetAuthEntity("carol", "carol", "changed"), User.class);
+        assertEquals(HttpStatus.OK, update.getStatusCode());
+
+        // The old password no longer works and the new one does
+        var login = this.restTemplate.postForEntity(getBaseUrl() + "/auth/login", new LoginRequest("user", "user"), String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, login.getStatusCode());
+        GetAuthEntity("user", "changed");
+
+        var stats = this.restTemplate.exchange(getBaseUrl() + "/api/admin/caches", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), new ParameterizedTypeReference<Map<String, CacheStats>>() {});
+        assertEquals(HttpStatus.OK, stats.getStatusCode());
+        assertTrue(stats.getBody().get("principals").getHitCount() >= 1);
+    }
+
+    /**
+     * Tests paging through users filtered by a username prefix.
+     */
+    @Test
+    @DisplayName("GET /api/users?limit= should page through users matching a prefix")
+    public void getUsersPagedByPrefix() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('a_one', 'x'), ('ab', 'x'), ('abc', 'x'), ('abd', 'x'), ('b', 'x')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN'), ('ab', 'USER'), ('ab', 'EDITOR')");
+        var type = new ParameterizedTypeReference<CursorPage<User>>() {};
+
+        var first = this.restTemplate.exchange(getBaseUrl() + "/api/users?limit=2&prefix=ab", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), type).getBody();
+        assertEquals(List.of("ab", "abc"), first.getItems().stream().map(User::getUsername).toList());
+        assertEquals(List.of("EDITOR", "USER"), first.getItems().get(0).getRoles().stream().sorted().toList());
+
+        var second = this.restTemplate.exchange(getBaseUrl() + "/api/users?limit=2&prefix=ab&after=" + first.getNext(), HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), type).getBody();
+        assertEquals(List.of("abd"), second.getItems().stream().map(User::getUsername).toList());
+        assertNull(second.getNext());
+
+        // Wildcards in the prefix are matched literally
+        var literal = this.restTemplate.exchange(getBaseUrl() + "/api/users?limit=10&prefix=a_", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), type).getBody();
+        assertEquals(List.of("a_one"), literal.getItems().stream().map(User::getUsername).toList());
+    }
+
+    /**
+     * Tests that login hashing runs on the dedicated pool and is reported.
+     */
+    @Test
+    @DisplayName("GET /api/admin/password-hashing should report hashes done at login")
+    public void passwordHashingStatsShouldCountLogins() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/password-hashing", HttpMethod.GET,
+            GetAuthEntity("carol", "carol"), HashingStats.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertTrue(result.getBody().getCompletedCount() >= 1);
+        assertEquals(0, result.getBody().getQueueDepth());
+    }
+
+    /**
+     * Tests that a hash whose caller timed out keeps its thread counted as busy until it finishes,
+     * that one still queued gives up its place, and that both show in the pool's meters.
+     */
+    @Test
+    @DisplayName("Timed-out hashes should stay counted until they finish")
+    public void timedOutHashesShouldStayCounted() throws InterruptedException {
+        PasswordHashingService hashing = new PasswordHashingService(1, 1, Duration.ofMillis(100));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hashing.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        try {
+            // Like BCrypt, the first task is not stopped by the timeout; it ends early only if interrupted
+            assertThrows(ResponseStatusException.class, () -> hashing.run(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+                return "slow";
+            }));
+            // The next two wait in the queue, time out and are taken out again, so neither is rejected
+            assertThrows(ResponseStatusException.class, () -> hashing.run(() -> "queued"));
+            assertThrows(ResponseStatusException.class, () -> hashing.run(() -> "queued"));
+
+            HashingStats stats = hashing.stats();
+            assertEquals(1, stats.getActiveCount());
+            assertEquals(0, stats.getQueueDepth());
+            assertEquals(0, stats.getRejectedCount());
+            assertEquals(1.0, registry.get("password.hashing.active").gauge().value());
+            assertEquals(0.0, registry.get("password.hashing.queue.depth").gauge().value());
+            assertEquals(0.0, registry.get("password.hashing.rejected").functionCounter().count());
+            assertEquals(3.0, registry.get("password.hashing.timeouts").functionCounter().count());
+
+            release.countDown();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            assertEquals("fast", hashing.run(() -> "fast"));
+            assertEquals(0, hashing.stats().getActiveCount());
+        } finally {
+            release.countDown();
+            hashing.shutdown();
+        }
+    }
+
+    /**
+     * Tests that tokens issued before a role change are rejected, while new ones work.
+     */
+    @Test
+    @DisplayName("Changing a user's roles should revoke their existing tokens")
+    public void addRoleShouldRevokeExistingTokens() {
+        var jdbc = getJdbcTemplate();
+        jdbc.update("insert into users (username, password) values ('carol', 'carol'), ('dave', 'dave')");
+        jdbc.update("insert into roles (username, role) values ('carol', 'ADMIN')");
+
+        var oldToken = GetAuthEntity("dave", "dave");
+        assertEquals(HttpStatus.OK, this.restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, oldToken, String.class).getStatusCode());
+
+        var added = this.restTemplate.exchange(getBaseUrl() + "/api/users/dave/roles", HttpMethod.POST,
+            GetAuthEntity("carol", "carol", "editor"), String.class);
+        assertEquals(HttpStatus.OK, added.getStatusCode());
+
+        assertEquals(HttpStatus.UNAUTHORIZED, this.restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, oldToken, String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, this.restTemplate.exchange(getBaseUrl() + "/api/entries", HttpMethod.GET, GetAuthEntity("dave", "dave"), String.class).getStatusCode());
+    }
 }
@@ -6,8 +6,12 @@ import ch.vorburger.mariadb4j.DBConfigurationBuilder;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
 import javax.sql.DataSource;
 
 /**
@@ -16,6 +20,9 @@ import javax.sql.DataSource;
  */
 @TestConfiguration
 public class FinalTestConfiguration {
+    // Embedded database started by dataSource(), shared with the R2DBC connection factory
+    private DB db;
+
     /**
      * Creates a data source bean that uses an embedded MariaDB instance.
      *
@@ -27,16 +34,29 @@ public class FinalTestConfiguration {
         var configBuilder = DBConfigurationBuilder.newBuilder();
         configBuilder.setPort(0);
 
-        var db = DB.newEmbeddedDB(configBuilder.build());
+        db = DB.newEmbeddedDB(configBuilder.build());
         db.start();
-        db.createDB("test", "root", "");
+        // The schema script creates its tables in healthTracker, so every pooled connection must start there
+        db.createDB("healthTracker", "root", "");
 
         return DataSourceBuilder.create()
-            .url("jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/test")
+            .url("jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/healthTracker")
             .username("root")
             .build();
     }
 
+    /**
+     * Creates an R2DBC connection factory for the same embedded database, for tests of the "reactive" profile.
+     *
+     * @param dataSource The JDBC data source, which starts the embedded database.
+     * @return The connection factory bean.
+     */
+    @Bean
+    @Profile("reactive")
+    public ConnectionFactory connectionFactory(DataSource dataSource) {
+        return ConnectionFactories.get("r2dbc:mariadb://root@localhost:" + db.getConfiguration().getPort() + "/healthTracker");
+    }
+
     /**
      * Creates a password encoder bean that does not encode passwords.
      *
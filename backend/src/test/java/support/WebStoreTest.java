@@ -2,6 +2,8 @@
 package support;
 
 // Required imports
+import org.example.daos.EntryGroupDao; // DAO caching group lists
+import org.example.services.PrincipalCache; // Cache of authentication principals
 import org.apache.ibatis.jdbc.ScriptRunner; // Utility to execute SQL scripts
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,6 +58,18 @@ public class WebStoreTest {
     @Autowired
     protected PasswordEncoder passwordEncoder;
 
+    /**
+     * Injected principal cache, cleared whenever the database is reset.
+     */
+    @Autowired
+    protected PrincipalCache principalCache;
+
+    /**
+     * Injected group DAO, whose cached group lists are cleared whenever the database is reset.
+     */
+    @Autowired
+    protected EntryGroupDao entryGroupDao;
+
     /**
      * Returns the base URL of the running test server (e.g., http://localhost:8081).
      */
@@ -104,6 +118,10 @@ public class WebStoreTest {
         sr.setErrorLogWriter(null);    // Suppress error logs
         sr.runScript(reader);          // Executes SQL statements in the file
         connection.close();
+
+        // Users and groups were recreated underneath the application, so drop anything cached
+        principalCache.invalidateAll();
+        entryGroupDao.clearCache();
     }
 
     /**
@@ -1,7 +1,7 @@
 create database if not exists healthTracker;
 use healthTracker;
 
-drop table if exists entry_groups, entries, roles, users;
+drop table if exists entry_stats, deleted_entry_groups, entries, entry_groups, roles, users;
 
 create table users (
     username varchar(255) primary key,
@@ -21,7 +21,14 @@ CREATE TABLE entry_groups (
   description TEXT,
   visibility ENUM('PUBLIC', 'PRIVATE') DEFAULT 'PRIVATE',
   created_by VARCHAR(255),
+  version INT NOT NULL DEFAULT 0
+);
 
+CREATE TABLE deleted_entry_groups (
+  id INT PRIMARY KEY,
+  created_by VARCHAR(255) NOT NULL,
+  deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (created_by) REFERENCES users(username) ON DELETE CASCADE
 );
 
 CREATE TABLE entries (
@@ -33,8 +40,23 @@ CREATE TABLE entries (
   date DATE NOT NULL,
   created_by VARCHAR(255),
   group_id INT,
+  version INT NOT NULL DEFAULT 0,
+
+  FOREIGN KEY (group_id) REFERENCES entry_groups(id) ON DELETE SET NULL,
+  INDEX idx_entries_date (date, id),
+  INDEX idx_entries_created_by_date (created_by, date, id),
+  INDEX idx_entries_visibility_date (visibility, date, id),
+  INDEX idx_entries_type_date (type, date, id),
+  FULLTEXT INDEX ft_entries_title_description (title, description)
+);
 
-  FOREIGN KEY (group_id) REFERENCES entry_groups(id) ON DELETE SET NULL
+CREATE TABLE entry_stats (
+  username VARCHAR(255) NOT NULL,
+  day DATE NOT NULL,
+  type ENUM('Workout', 'Diet', 'Symptom', 'Other') NOT NULL,
+  entry_count INT NOT NULL,
+  PRIMARY KEY (username, day, type),
+  FOREIGN KEY (username) REFERENCES users(username) ON DELETE CASCADE
 );
 
 -- Insert data
@@ -3,7 +3,7 @@ CREATE DATABASE IF NOT EXISTS healthTracker;
 USE healthTracker;
 
 -- Drop existing tables if they exist
-DROP TABLE IF EXISTS entry_groups, entries, roles, users;
+DROP TABLE IF EXISTS entry_stats, deleted_entry_groups, entries, entry_groups, roles, users;
 
 -- Create users table
 CREATE TABLE users (
@@ -26,9 +26,19 @@ CREATE TABLE entry_groups (
     description TEXT,
     visibility ENUM('PUBLIC', 'PRIVATE') DEFAULT 'PRIVATE',
     created_by VARCHAR(255),
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (created_by) REFERENCES users(username) ON DELETE SET NULL
 );
 
+-- Create deleted_entry_groups table: one row per deleted group, so only its owner (or an admin)
+-- can restore it under its old id through POST /api/groups/batch
+CREATE TABLE deleted_entry_groups (
+    id INT PRIMARY KEY,
+    created_by VARCHAR(255) NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (created_by) REFERENCES users(username) ON DELETE CASCADE
+);
+
 -- Create entries table
 CREATE TABLE entries (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -39,8 +49,29 @@ CREATE TABLE entries (
     date DATE NOT NULL,
     created_by VARCHAR(255),
     group_id INT,
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (created_by) REFERENCES users(username) ON DELETE SET NULL,
-    FOREIGN KEY (group_id) REFERENCES entry_groups(id) ON DELETE SET NULL
+    FOREIGN KEY (group_id) REFERENCES entry_groups(id) ON DELETE SET NULL,
+    -- Keyset pagination indexes: newest-first listing for admins, own entries, and public entries
+    INDEX idx_entries_date (date, id),
+    INDEX idx_entries_created_by_date (created_by, date, id),
+    INDEX idx_entries_visibility_date (visibility, date, id),
+    -- Type filter (GET /api/entries?type=) across all entries
+    INDEX idx_entries_type_date (type, date, id),
+    -- Word index for full-text search over title and description
+    FULLTEXT INDEX ft_entries_title_description (title, description)
+);
+
+-- Create entry_stats table: entries per user, day and type, kept up to date by EntryDao on every write
+-- so activity statistics read a handful of rollup rows instead of every entry. The backend fills it on startup
+-- when it is empty but entries exist; after writing entries with SQL, recompute it with POST /api/admin/entry-stats/rebuild
+CREATE TABLE entry_stats (
+    username VARCHAR(255) NOT NULL,
+    day DATE NOT NULL,
+    type ENUM('Workout', 'Diet', 'Symptom', 'Other') NOT NULL,
+    entry_count INT NOT NULL,
+    PRIMARY KEY (username, day, type),
+    FOREIGN KEY (username) REFERENCES users(username) ON DELETE CASCADE
 );
 
 -- Insert initial admin user
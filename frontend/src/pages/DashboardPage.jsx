@@ -69,7 +69,9 @@ export default function DashboardPage() {
       const item = { title, type, description, visibility, date, createdBy, group: { id: group } };
 
       if (editIndex !== null) {
-        await axios.put(`/api/entries/${privateItems[editIndex].id}`, item, config);
+        // Send the version that was loaded, so an entry changed elsewhere in the meantime is not overwritten (409)
+        const { id, version } = privateItems[editIndex];
+        await axios.put(`/api/entries/${id}`, { ...item, version }, config);
       } else {
         await axios.post('/api/entries', item, config);
       }
@@ -79,6 +81,10 @@ export default function DashboardPage() {
       fetchData();
     } catch (err) {
       console.error('Error saving item:', err);
+      // Changed elsewhere since it was loaded: show the current version
+      if (err.response?.status === 409) {
+        fetchData();
+      }
     }
   };
 
@@ -128,9 +134,10 @@ export default function DashboardPage() {
     undoTimerRef.current = setTimeout(async () => {
       const token = localStorage.getItem('token');
       try {
-        await Promise.all(itemsToDelete.map(item =>
-          axios.delete(`/api/entries/${item.id}`, { headers: { Authorization: `Bearer ${token}` } })
-        ));
+        await axios.delete('/api/entries', {
+          headers: { Authorization: `Bearer ${token}` },
+          data: itemsToDelete.map(item => item.id),
+        });
       } catch (err) {
         console.error('Bulk delete error:', err);
         fetchData();
@@ -116,7 +116,8 @@ useEffect(() => {
     clearTimeout(undoTimeoutRef.current);
     try {
       const token = localStorage.getItem('token');
-      await axios.post(`/api/groups`, pendingDelete.group, {
+      // Restore through the batch endpoint so the group keeps its id
+      await axios.post(`/api/groups/batch`, [pendingDelete.group], {
         headers: { Authorization: `Bearer ${token}` },
       });
       fetchGroups();
@@ -162,13 +163,10 @@ useEffect(() => {
     clearTimeout(undoTimeoutRef.current);
     try {
       const token = localStorage.getItem('token');
-      await Promise.all(
-        pendingBulkDelete.map((group) =>
-          axios.post(`/api/groups`, group, {
-            headers: { Authorization: `Bearer ${token}` },
-          })
-        )
-      );
+      // Restore every deleted group in one request, keeping their ids
+      await axios.post(`/api/groups/batch`, pendingBulkDelete, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
       fetchGroups();
     } catch (err) {
       console.error('Error restoring bulk groups:', err);
@@ -183,8 +181,9 @@ useEffect(() => {
     const group = { name, description, visibility };
     try {
       if (editIndex !== null) {
-        const groupId = publicGroups[editIndex].id;
-        await axios.put(`/api/groups/${groupId}`, group, {
+        // Send the version that was loaded, so a group changed elsewhere in the meantime is not overwritten (409)
+        const { id: groupId, version } = publicGroups[editIndex];
+        await axios.put(`/api/groups/${groupId}`, { ...group, version }, {
           headers: { Authorization: `Bearer ${token}` },
         });
       } else {
@@ -197,6 +196,10 @@ useEffect(() => {
       fetchGroups();
     } catch (err) {
       console.error('Error saving group:', err);
+      if (err.response?.status === 409) {
+        setErrorMessage('This group was changed elsewhere. The list has been reloaded, please edit it again.');
+        fetchGroups();
+      }
     }
   };
 
@@ -161,7 +161,7 @@ describe('TrackNestPage', () => {
     await waitFor(() => {
       const undoButton = screen.getByText('Undo');
       fireEvent.click(undoButton);
-      expect(axios.post).toHaveBeenCalledWith('/api/groups', expect.anything(), expect.anything());
+      expect(axios.post).toHaveBeenCalledWith('/api/groups/batch', expect.anything(), expect.anything());
     });
   });
 
@@ -190,7 +190,7 @@ describe('TrackNestPage', () => {
     );
   });
 
-  it('undoes bulk delete by reposting all deleted groups', async () => {
+  it('undoes bulk delete by reposting all deleted groups in one batch', async () => {
     global.confirm = () => true;
     render(<TrackNestPage />);
     await waitFor(() => screen.getByText('Alpha Group'));
@@ -202,7 +202,11 @@ describe('TrackNestPage', () => {
     fireEvent.click(undoButton);
   
     await waitFor(() =>
-      expect(axios.post).toHaveBeenCalledWith('/api/groups', expect.objectContaining({ name: 'Alpha Group' }), expect.anything())
+      expect(axios.post).toHaveBeenCalledWith(
+        '/api/groups/batch',
+        expect.arrayContaining([expect.objectContaining({ name: 'Alpha Group' })]),
+        expect.anything()
+      )
     );
   });
 